@@ -0,0 +1,39 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.util.HypixelDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring classification of scoreboard and tab list text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HypixelClassificationBenchmark {
+    @Param({
+            "skyblock  you are playing on profile: apple www.hypixel.net",
+            "bed wars  mc.hypixel.net ranks, boosters & more! store.hypixel.net",
+            "hypixel network  lobby #3 store.hypixel.net",
+            "skyblock the catacombs floor vii dungeon mc.hypixel.net"
+    })
+    public String combinedInfo;
+
+    @Benchmark
+    public HypixelDetector.Classification classify() {
+        return HypixelDetector.classify(combinedInfo, "");
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import com.github.scaleme.client.gui.PlayerPresetScreen;
+import com.github.scaleme.client.util.PlayerPresetManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search, category filter and sort of the preset list, in the manager and in the preset screen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresetFilterBenchmark {
+    @Param({"NAME", "CATEGORY", "SCALE", "ENABLED"})
+    public PlayerPresetManager.SortType sortType;
+
+    @Param({"", "preset 1"})
+    public String search;
+
+    @Param({"1000", "10000"})
+    public int presets;
+
+    private List<PlayerPreset> all;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PlayerPresetManager.applyPresets(SyntheticData.presets(SyntheticData.uuids(presets, 3)));
+        all = PlayerPresetManager.getAllPresets();
+    }
+
+    @Benchmark
+    public List<PlayerPreset> managerFilter() {
+        return PlayerPresetManager.getFilteredPresets(search, "all", sortType);
+    }
+
+    @Benchmark
+    public List<PlayerPreset> screenFilter() {
+        // The screen sorts its input in place, so hand it a fresh copy like getAllPresets() does
+        return PlayerPresetScreen.filterPresets(new ArrayList<>(all), search, Set.of("friends", "guild"), sortType, true);
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import com.github.scaleme.client.util.PlayerNameIndex;
+import com.github.scaleme.client.util.PlayerPresetManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getPresetForPlayer against 10k presets, half keyed by UUID and half by username.
+ * Lookups cycle through UUID hits, resolved username hits and misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresetLookupBenchmark {
+    private static final int PRESETS = 10_000;
+
+    private UUID[] lookups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        UUID[] presetPlayers = SyntheticData.uuids(PRESETS, 7);
+        PlayerNameIndex.clear();
+        PlayerPresetManager.applyPresets(SyntheticData.presets(presetPlayers));
+
+        // List players for the username presets so they resolve like they would in game
+        UUID[] listed = SyntheticData.uuids(PRESETS / 2, 11);
+        for (int i = 0; i < listed.length; i++) {
+            PlayerNameIndex.onPlayerAdded(listed[i], SyntheticData.username(i));
+        }
+
+        UUID[] strangers = SyntheticData.uuids(PRESETS / 2, 13);
+        lookups = new UUID[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = switch (i % 3) {
+                case 0 -> presetPlayers[(i * 31) % (PRESETS / 2)];
+                case 1 -> listed[(i * 17) % listed.length];
+                default -> strangers[(i * 13) % strangers.length];
+            };
+        }
+    }
+
+    @Benchmark
+    public PlayerPreset getPresetForPlayer() {
+        next = (next + 1) & (lookups.length - 1);
+        return PlayerPresetManager.getPresetForPlayer(lookups[next]);
+    }
+}
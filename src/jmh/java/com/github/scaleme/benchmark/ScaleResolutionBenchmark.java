@@ -0,0 +1,67 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.util.ClientFacade;
+import com.github.scaleme.client.util.InMemoryClientFacade;
+import com.github.scaleme.client.util.ScaleManager;
+import com.github.scaleme.config.ScaleMeConfig;
+import com.github.scaleme.config.ScaleSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving every player's scale once, as a frame without the frame table would.
+ * Players beyond the tracking cap take the untracked path, as they do in game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScaleResolutionBenchmark {
+    @Param({"10", "100", "1000"})
+    public int players;
+
+    private UUID[] uuids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ScaleMeConfig.enableOtherPlayersScaling = true;
+        ScaleMeConfig.otherPlayersScale = 0.8f;
+        ScaleSettings.rebuild();
+        ScaleManager.clearAllPlayerScales();
+        ScaleManager.refreshRules(ScaleSettings.get());
+
+        uuids = SyntheticData.uuids(players, 42);
+        InMemoryClientFacade client = new InMemoryClientFacade().joinWorld(uuids[0]);
+        for (UUID uuid : uuids) {
+            client.addPlayer(uuid);
+        }
+        ClientFacade.install(client);
+
+        for (int i = 1; i < uuids.length && i <= ScaleManager.getMaxTrackedPlayers(); i++) {
+            ScaleManager.trackPlayer(uuids[i]);
+        }
+    }
+
+    @Benchmark
+    public void resolveAll(Blackhole blackhole) {
+        for (UUID uuid : uuids) {
+            blackhole.consume(ScaleManager.getCurrentScale(uuid));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.data.PlayerPreset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic players and presets shared by the benchmarks.
+ */
+final class SyntheticData {
+    static final String[] CATEGORIES = {"default", "friends", "guild", "content creators", "command"};
+
+    private SyntheticData() {
+    }
+
+    static UUID[] uuids(int count, long seed) {
+        Random random = new Random(seed);
+        UUID[] uuids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return uuids;
+    }
+
+    static String username(int index) {
+        return "Player_" + Integer.toString(index, 36);
+    }
+
+    /**
+     * Half UUID presets for the given players, half username presets for usernames 0..n/2.
+     */
+    static List<PlayerPreset> presets(UUID[] players) {
+        List<PlayerPreset> presets = new ArrayList<>(players.length);
+        int half = players.length / 2;
+        for (int i = 0; i < players.length; i++) {
+            String identifier = i < half ? players[i].toString() : username(i - half);
+            float scale = 0.5f + (i % 25) * 0.1f;
+            presets.add(new PlayerPreset(identifier, i % 3 == 0 ? "Preset " + i : null, scale, i % 7 != 0, CATEGORIES[i % CATEGORIES.length]));
+        }
+        return presets;
+    }
+}
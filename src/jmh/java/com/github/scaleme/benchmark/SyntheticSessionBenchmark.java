@@ -0,0 +1,85 @@
+package com.github.scaleme.benchmark;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import com.github.scaleme.client.util.ClientFacade;
+import com.github.scaleme.client.util.InMemoryClientFacade;
+import com.github.scaleme.client.util.PlayerNameIndex;
+import com.github.scaleme.client.util.PlayerPresetManager;
+import com.github.scaleme.client.util.ScaleManager;
+import com.github.scaleme.config.ScaleMeConfig;
+import com.github.scaleme.config.ScaleSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole client session on a plain JVM: players listed and loaded through the in-memory
+ * facade on a Hypixel Skyblock lobby, presets for a tenth of them, then client ticks and
+ * frames (frame pass plus one lookup per player) against the real ScaleManager and detector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyntheticSessionBenchmark {
+    @Param({"100", "1000"})
+    public int players;
+
+    private UUID[] uuids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ScaleMeConfig.enableOtherPlayersScaling = true;
+        ScaleMeConfig.otherPlayersScale = 0.9f;
+        ScaleSettings.rebuild();
+
+        uuids = SyntheticData.uuids(players, 99);
+        InMemoryClientFacade client = new InMemoryClientFacade()
+                .joinWorld(uuids[0])
+                .setServerAddress("mc.hypixel.net")
+                .setSidebarTitle("SKYBLOCK")
+                .setTabList("You are playing on MC.HYPIXEL.NET", "Area: Hub");
+        ClientFacade.install(client);
+
+        ScaleManager.clearAllPlayerScales();
+        PlayerNameIndex.clear();
+        List<PlayerPreset> presets = SyntheticData.presets(SyntheticData.uuids(players / 10, 5));
+        PlayerPresetManager.applyPresets(presets);
+
+        for (int i = 1; i < uuids.length; i++) {
+            client.addPlayer(uuids[i]);
+            PlayerNameIndex.onPlayerAdded(uuids[i], SyntheticData.username(i));
+            ScaleManager.trackPlayer(uuids[i]);
+        }
+        ScaleManager.tick();
+    }
+
+    @Benchmark
+    public void tick() {
+        ScaleManager.tick();
+    }
+
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        ScaleManager.resolveFrame(0.5f);
+        for (UUID uuid : uuids) {
+            blackhole.consume(ScaleManager.getFrameScale(uuid));
+        }
+    }
+}
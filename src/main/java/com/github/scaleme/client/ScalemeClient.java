@@ -3,16 +3,29 @@ package com.github.scaleme.client;
 import com.github.scaleme.Scaleme;
 import com.github.scaleme.client.command.HypixelStatusCommand;
 import com.github.scaleme.client.command.PresetCommand;
+import com.github.scaleme.client.command.StatsCommand;
 import com.github.scaleme.client.gui.PlayerPresetScreen;
+import com.github.scaleme.client.gui.StatsOverlay;
+import com.github.scaleme.client.util.PlayerNameIndex;
+import com.github.scaleme.client.util.PlayerPresetManager;
 import com.github.scaleme.client.util.ScaleManager;
+import com.github.scaleme.client.util.TeamIndex;
 import com.github.scaleme.config.ScaleMeConfig;
 import eu.midnightdust.lib.config.MidnightConfig;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientWorldEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
+import net.minecraft.entity.player.PlayerEntity;
 import org.lwjgl.glfw.GLFW;
 
 public class ScalemeClient implements ClientModInitializer {
@@ -43,6 +56,7 @@ public class ScalemeClient implements ClientModInitializer {
         ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
             PresetCommand.register(dispatcher);
             HypixelStatusCommand.register(dispatcher);
+            StatsCommand.register(dispatcher);
         });
 
         // Handle key presses
@@ -60,8 +74,39 @@ public class ScalemeClient implements ClientModInitializer {
                     client.setScreen(new PlayerPresetScreen(client.currentScreen));
                 }
             }
+
+            // Advance scale targets and smoothing once per tick
+            ScaleManager.tick();
+        });
+
+        // Tie per-player scale state to the entity lifecycle so it never outlives the player
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof PlayerEntity && !(entity instanceof ClientPlayerEntity)) {
+                ScaleManager.trackPlayer(entity.getUuid());
+            }
+        });
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof PlayerEntity) {
+                ScaleManager.clearPlayerScale(entity.getUuid());
+            }
+        });
+        ClientWorldEvents.AFTER_CLIENT_WORLD_CHANGE.register((client, world) -> ScaleManager.clearAllPlayerScales());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            ScaleManager.clearAllPlayerScales();
+            PlayerNameIndex.clear();
+            TeamIndex.clear();
         });
 
+        // Interpolate player scales once per frame, before any entity is rendered
+        WorldRenderEvents.START.register(context ->
+                ScaleManager.resolveFrame(context.tickCounter().getTickProgress(false)));
+
+        // Preset saves are written in the background; make sure the last one lands
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> PlayerPresetManager.flush());
+
+        // Optional metrics overlay (/scaleme stats overlay)
+        HudRenderCallback.EVENT.register(StatsOverlay::render);
+
         ScaleManager.init();
     }
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ public class PresetCommand {
     public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
         dispatcher.register(ClientCommandManager.literal("scalepreset")
                 .then(ClientCommandManager.literal("add")
-                        .then(ClientCommandManager.argument("identifier", StringArgumentType.word())
+                        .then(ClientCommandManager.argument("identifier", StringArgumentType.string())
                                 .then(ClientCommandManager.argument("scale", FloatArgumentType.floatArg(0.1f, 3.0f))
                                         .executes(context -> {
                                             String identifier = StringArgumentType.getString(context, "identifier");
@@ -51,7 +51,7 @@ public class PresetCommand {
                                 .executes(context -> {
                                     String identifier = StringArgumentType.getString(context, "identifier");
 
-                                    PlayerPresetManager.removePreset(identifier, isUUID(identifier));
+                                    PlayerPresetManager.removePreset(identifier);
 
                                     context.getSource().sendFeedback(Text.literal("Removed preset for: " + identifier)
                                             .formatted(Formatting.YELLOW));
@@ -69,13 +69,17 @@ public class PresetCommand {
                                         .formatted(Formatting.GOLD));
                                 for (PlayerPreset preset : presets) {
                                     String displayName = preset.getEffectiveDisplayName();
-                                    String identifierType = preset.isUUID() ? "UUID" : "Username";
+                                    String identifierType = preset.isTeam() ? "Team" : preset.isPattern() ? "Pattern" : preset.isUUID() ? "UUID" : "Username";
+                                    float multiplier = PlayerPresetManager.getCategoryMultiplier(preset.category);
+                                    String categoryLabel = multiplier != 1.0f
+                                            ? String.format("%s x%.2f", preset.category, multiplier)
+                                            : preset.category;
                                     String line = String.format("- %s (%s: %s) - %.1fx [%s] %s",
                                             displayName,
                                             identifierType,
                                             preset.identifier,
                                             preset.scale,
-                                            preset.category,
+                                            categoryLabel,
                                             preset.enabled ? "[Enabled]" : "[Disabled]");
                                     context.getSource().sendFeedback(Text.literal(line)
                                             .formatted(preset.enabled ? Formatting.WHITE : Formatting.GRAY));
@@ -99,11 +103,9 @@ public class PresetCommand {
 
                                     if (foundPreset != null) {
                                         // Toggle the enabled state
-                                        foundPreset.enabled = !foundPreset.enabled;
+                                        foundPreset = foundPreset.withEnabled(!foundPreset.enabled);
 
-                                        // Remove and re-add to save changes
-                                        PlayerPresetManager.removePreset(foundPreset.identifier, foundPreset.isUUID());
-                                        PlayerPresetManager.addPreset(foundPreset);
+                                        PlayerPresetManager.replacePreset(foundPreset.identifier, foundPreset);
 
                                         String status = foundPreset.enabled ? "enabled" : "disabled";
                                         context.getSource().sendFeedback(Text.literal("Preset for " + identifier + " is now " + status)
@@ -116,7 +118,7 @@ public class PresetCommand {
                                     return 1;
                                 })))
                 .then(ClientCommandManager.literal("category")
-                        .then(ClientCommandManager.argument("identifier", StringArgumentType.word())
+                        .then(ClientCommandManager.argument("identifier", StringArgumentType.string())
                                 .then(ClientCommandManager.argument("category", StringArgumentType.word())
                                         .executes(context -> {
                                             String identifier = StringArgumentType.getString(context, "identifier");
@@ -133,11 +135,9 @@ public class PresetCommand {
 
                                             if (foundPreset != null) {
                                                 // Update category
-                                                foundPreset.category = category;
+                                                foundPreset = foundPreset.withCategory(category);
 
-                                                // Remove and re-add to save changes
-                                                PlayerPresetManager.removePreset(foundPreset.identifier, foundPreset.isUUID());
-                                                PlayerPresetManager.addPreset(foundPreset);
+                                                PlayerPresetManager.replacePreset(foundPreset.identifier, foundPreset);
 
                                                 context.getSource().sendFeedback(Text.literal("Updated category for " + identifier + " to: " + category)
                                                         .formatted(Formatting.GREEN));
@@ -146,6 +146,29 @@ public class PresetCommand {
                                                         .formatted(Formatting.RED));
                                             }
 
+                                            return 1;
+                                        }))))
+                .then(ClientCommandManager.literal("multiplier")
+                        .then(ClientCommandManager.argument("category", StringArgumentType.string())
+                                .executes(context -> {
+                                    String category = StringArgumentType.getString(context, "category");
+                                    float multiplier = PlayerPresetManager.getCategoryMultiplier(category);
+
+                                    context.getSource().sendFeedback(Text.literal("Category " + category + " multiplier: " + multiplier + "x")
+                                            .formatted(Formatting.GOLD));
+
+                                    return 1;
+                                })
+                                .then(ClientCommandManager.argument("multiplier", FloatArgumentType.floatArg(0.1f, 3.0f))
+                                        .executes(context -> {
+                                            String category = StringArgumentType.getString(context, "category");
+                                            float multiplier = FloatArgumentType.getFloat(context, "multiplier");
+
+                                            PlayerPresetManager.setCategoryMultiplier(category, multiplier);
+
+                                            context.getSource().sendFeedback(Text.literal("Set category " + category + " multiplier to " + multiplier + "x")
+                                                    .formatted(Formatting.GREEN));
+
                                             return 1;
                                         }))))
                 .then(ClientCommandManager.literal("help")
@@ -157,18 +180,18 @@ public class PresetCommand {
                             context.getSource().sendFeedback(Text.literal("/scalepreset list - List all presets"));
                             context.getSource().sendFeedback(Text.literal("/scalepreset toggle <identifier> - Enable/disable a preset"));
                             context.getSource().sendFeedback(Text.literal("/scalepreset category <identifier> <category> - Change preset category"));
+                            context.getSource().sendFeedback(Text.literal("/scalepreset multiplier <category> [multiplier] - Show or set a category's scale multiplier"));
                             context.getSource().sendFeedback(Text.literal("/scalepreset help - Show this help"));
                             context.getSource().sendFeedback(Text.literal("Scale range: 0.1x to 3.0x")
                                     .formatted(Formatting.GRAY));
                             context.getSource().sendFeedback(Text.literal("UUIDs are automatically detected")
                                     .formatted(Formatting.GRAY));
+                            context.getSource().sendFeedback(Text.literal("Patterns: \"*_bot\", \"[NPC]*\" or \"regex:<expression>\" match usernames or tab-list names")
+                                    .formatted(Formatting.GRAY));
+                            context.getSource().sendFeedback(Text.literal("Teams: \"team:<name>\" matches every member of a scoreboard team")
+                                    .formatted(Formatting.GRAY));
                             return 1;
                         }))
         );
     }
-
-    private static boolean isUUID(String identifier) {
-        // Simple UUID detection - 36 characters with hyphens in correct positions
-        return identifier != null && identifier.matches("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
-    }
 }
\ No newline at end of file
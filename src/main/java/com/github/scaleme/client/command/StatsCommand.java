@@ -0,0 +1,51 @@
+package com.github.scaleme.client.command;
+
+import com.github.scaleme.client.gui.StatsOverlay;
+import com.github.scaleme.client.util.ScaleManager;
+import com.github.scaleme.client.util.ScaleMetrics;
+import com.mojang.brigadier.CommandDispatcher;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+public class StatsCommand {
+
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        dispatcher.register(ClientCommandManager.literal("scaleme")
+                .then(ClientCommandManager.literal("stats")
+                        .executes(context -> {
+                            context.getSource().sendFeedback(Text.literal("=== ScaleMe Stats ===")
+                                    .formatted(Formatting.GOLD));
+
+                            for (String line : ScaleMetrics.summarize()) {
+                                context.getSource().sendFeedback(Text.literal(line)
+                                        .formatted(Formatting.WHITE));
+                            }
+
+                            context.getSource().sendFeedback(Text.literal("Evicted entries: "
+                                    + ScaleManager.getEvictedPlayerCount())
+                                    .formatted(Formatting.GRAY));
+
+                            return 1;
+                        })
+                        .then(ClientCommandManager.literal("overlay")
+                                .executes(context -> {
+                                    boolean visible = StatsOverlay.toggle();
+
+                                    context.getSource().sendFeedback(Text.literal("Stats overlay " + (visible ? "shown" : "hidden"))
+                                            .formatted(visible ? Formatting.GREEN : Formatting.YELLOW));
+
+                                    return 1;
+                                }))
+                        .then(ClientCommandManager.literal("reset")
+                                .executes(context -> {
+                                    ScaleMetrics.reset();
+
+                                    context.getSource().sendFeedback(Text.literal("Stats reset")
+                                            .formatted(Formatting.YELLOW));
+
+                                    return 1;
+                                }))));
+    }
+}
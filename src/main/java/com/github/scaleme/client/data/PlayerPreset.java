@@ -1,41 +1,151 @@
 package com.github.scaleme.client.data;
 
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-public class PlayerPreset {
-    @SerializedName("identifier")
-    public String identifier; // UUID or username
+import java.io.IOException;
+import java.util.Locale;
+import java.util.UUID;
 
-    @SerializedName("displayName")
-    public String displayName; // Optional friendly name for the preset
+/**
+ * Immutable player preset. Everything the lookup and render paths need (parsed UUID,
+ * lower-cased key, pattern, team, display name) is derived once when the preset is
+ * created, so edits produce a new instance instead of mutating this one.
+ * Identifiers containing {@code *} or {@code ?}, or starting with {@code regex:}, are
+ * pattern presets matched against usernames; {@code team:<name>} applies to every member
+ * of a scoreboard team. The preset's scale is multiplied by its category's multiplier.
+ */
+@JsonAdapter(PlayerPreset.Adapter.class)
+public final class PlayerPreset {
+    public static final String DEFAULT_CATEGORY = "default";
+    public static final String REGEX_PREFIX = "regex:";
+    public static final String TEAM_PREFIX = "team:";
 
-    @SerializedName("scale")
-    public float scale;
+    public final String identifier; // UUID, username, pattern or team
+    public final String displayName; // Optional friendly name for the preset
+    public final float scale;
+    public final boolean enabled;
+    public final String category;
 
-    @SerializedName("enabled")
-    public boolean enabled = true;
-
-    @SerializedName("category")
-    public String category = "default";
-
-    public PlayerPreset() {}
+    // Derived once on construction
+    private final UUID uuid;
+    private final String key;
+    private final String pattern;
+    private final boolean regexPattern;
+    private final String team;
+    private final String categoryKey;
+    private final String effectiveDisplayName;
 
     public PlayerPreset(String identifier, String displayName, float scale, String category) {
-        this.identifier = identifier;
+        this(identifier, displayName, scale, true, category);
+    }
+
+    public PlayerPreset(String identifier, String displayName, float scale, boolean enabled, String category) {
+        this.identifier = identifier != null ? identifier.trim() : "";
         this.displayName = displayName;
         this.scale = scale;
-        this.category = category;
+        this.enabled = enabled;
+        this.category = category != null ? category : DEFAULT_CATEGORY;
+        this.categoryKey = categoryKey(this.category);
+
+        this.key = this.identifier.toLowerCase(Locale.ROOT);
+        this.team = key.startsWith(TEAM_PREFIX) ? key.substring(TEAM_PREFIX.length()).trim() : null;
+        this.regexPattern = team == null && key.startsWith(REGEX_PREFIX);
+        if (team != null) {
+            this.pattern = null;
+        } else if (regexPattern) {
+            this.pattern = this.identifier.substring(REGEX_PREFIX.length());
+        } else if (key.indexOf('*') >= 0 || key.indexOf('?') >= 0) {
+            this.pattern = key;
+        } else {
+            this.pattern = null;
+        }
+        this.uuid = pattern == null && team == null ? parseUUID(this.identifier) : null;
+        this.effectiveDisplayName = computeEffectiveDisplayName();
     }
 
-    // Auto-detect if identifier is UUID
-    public boolean isUUID() {
-        if (identifier == null) return false;
+    public PlayerPreset withEnabled(boolean enabled) {
+        return new PlayerPreset(identifier, displayName, scale, enabled, category);
+    }
+
+    public PlayerPreset withCategory(String category) {
+        return new PlayerPreset(identifier, displayName, scale, enabled, category);
+    }
+
+    /**
+     * Parses a dashed UUID string, returning null for anything else (e.g. usernames).
+     */
+    public static UUID parseUUID(String identifier) {
+        if (identifier == null || identifier.length() != 36) return null;
         // UUID format: 8-4-4-4-12 characters with hyphens
-        return identifier.matches("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
+        for (int i = 0; i < 36; i++) {
+            char c = identifier.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return null;
+            } else if (Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        return UUID.fromString(identifier);
+    }
+
+    /**
+     * Normalized category name used to key category multipliers.
+     */
+    public static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isUUID() {
+        return uuid != null;
+    }
+
+    public boolean isPattern() {
+        return pattern != null;
+    }
+
+    public boolean isRegexPattern() {
+        return regexPattern;
+    }
+
+    public boolean isTeam() {
+        return team != null;
+    }
+
+    // Lower-cased scoreboard team name for team presets, null otherwise
+    public String getTeam() {
+        return team;
+    }
+
+    // Lower-cased glob or raw regex for pattern presets, null otherwise
+    public String getPattern() {
+        return pattern;
+    }
+
+    // Parsed UUID, or null when the identifier is a username
+    public UUID getUUID() {
+        return uuid;
+    }
+
+    // Lower-cased identifier used as the index key for usernames
+    public String getKey() {
+        return key;
+    }
+
+    // Lower-cased, trimmed category used as the category index key
+    public String getCategoryKey() {
+        return categoryKey;
     }
 
     // Get effective display name (falls back to identifier if not set)
     public String getEffectiveDisplayName() {
+        return effectiveDisplayName;
+    }
+
+    private String computeEffectiveDisplayName() {
         if (displayName != null && !displayName.trim().isEmpty()) {
             return displayName.trim();
         }
@@ -46,13 +156,69 @@ public class PlayerPreset {
         return identifier;
     }
 
-    public boolean matches(String uuid, String username) {
+    public boolean matches(UUID playerUUID, String username) {
         if (!enabled) return false;
 
         if (isUUID()) {
-            return identifier.equalsIgnoreCase(uuid);
+            return uuid.equals(playerUUID);
         } else {
             return identifier.equalsIgnoreCase(username);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the scaleme_presets.json layout of the original reflective serialization.
+     */
+    public static class Adapter extends TypeAdapter<PlayerPreset> {
+        @Override
+        public void write(JsonWriter out, PlayerPreset preset) throws IOException {
+            if (preset == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("identifier").value(preset.identifier);
+            if (preset.displayName != null) {
+                out.name("displayName").value(preset.displayName);
+            }
+            out.name("scale").value(preset.scale);
+            out.name("enabled").value(preset.enabled);
+            out.name("category").value(preset.category);
+            out.endObject();
+        }
+
+        @Override
+        public PlayerPreset read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            String identifier = null;
+            String displayName = null;
+            float scale = 0.0f;
+            boolean enabled = true;
+            String category = DEFAULT_CATEGORY;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "identifier" -> identifier = in.nextString();
+                    case "displayName" -> displayName = in.nextString();
+                    case "scale" -> scale = (float) in.nextDouble();
+                    case "enabled" -> enabled = in.nextBoolean();
+                    case "category" -> category = in.nextString();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new PlayerPreset(identifier, displayName, scale, enabled, category);
+        }
+    }
+}
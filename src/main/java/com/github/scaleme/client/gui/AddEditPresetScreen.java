@@ -381,17 +381,15 @@ public class AddEditPresetScreen extends Screen {
         }
 
         // Create new preset
-        PlayerPreset preset = new PlayerPreset(identifier, displayName.isEmpty() ? null : displayName, scale, category);
-        preset.enabled = enabled;
+        PlayerPreset preset = new PlayerPreset(identifier, displayName.isEmpty() ? null : displayName, scale, enabled, category);
 
-        // If editing, remove the old preset first
+        // Editing replaces the old preset in one change, even if the identifier was renamed
         if (isEditing) {
-            PlayerPresetManager.removePreset(editingPreset.identifier, editingPreset.isUUID());
+            PlayerPresetManager.replacePreset(editingPreset.identifier, preset);
+        } else {
+            PlayerPresetManager.addPreset(preset);
         }
 
-        // Add the new/updated preset
-        PlayerPresetManager.addPreset(preset);
-
         // Return to parent screen
         this.client.setScreen(parent);
     }
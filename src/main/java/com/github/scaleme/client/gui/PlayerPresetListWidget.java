@@ -140,7 +140,7 @@ public class PlayerPresetListWidget extends AlwaysSelectedEntryListWidget<Player
 
             if (hasDisplayName) {
                 primaryText = preset.displayName.trim();
-                String identifierType = preset.isUUID() ? "UUID" : "Username";
+                String identifierType = preset.isTeam() ? "Team" : preset.isPattern() ? "Pattern" : preset.isUUID() ? "UUID" : "Username";
                 secondaryText = identifierType + ": " + preset.identifier;
             } else {
                 primaryText = preset.identifier;
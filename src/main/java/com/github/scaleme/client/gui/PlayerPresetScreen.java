@@ -311,11 +311,17 @@ public class PlayerPresetScreen extends Screen {
     }
 
     private List<PlayerPreset> getFilteredPresets() {
-        List<PlayerPreset> presets = PlayerPresetManager.getAllPresets();
+        return filterPresets(PlayerPresetManager.getAllPresets(), currentSearchTerm, selectedCategories, currentSort, sortAscending);
+    }
 
+    /**
+     * Filters and sorts presets the way the list shows them; static so it can be benchmarked.
+     */
+    public static List<PlayerPreset> filterPresets(List<PlayerPreset> presets, String searchTerm, Set<String> selectedCategories,
+                                                   PlayerPresetManager.SortType currentSort, boolean sortAscending) {
         // Apply search filter
-        if (!currentSearchTerm.trim().isEmpty()) {
-            String search = currentSearchTerm.toLowerCase().trim();
+        if (!searchTerm.trim().isEmpty()) {
+            String search = searchTerm.toLowerCase().trim();
             presets = presets.stream()
                     .filter(preset ->
                             preset.getEffectiveDisplayName().toLowerCase().contains(search) ||
@@ -396,7 +402,7 @@ public class PlayerPresetScreen extends Screen {
 
     private void deleteSelectedPreset() {
         if (selectedPreset != null) {
-            PlayerPresetManager.removePreset(selectedPreset.identifier, selectedPreset.isUUID());
+            PlayerPresetManager.removePreset(selectedPreset.identifier);
             refreshPresetList();
             selectedPreset = null;
         }
@@ -0,0 +1,45 @@
+package com.github.scaleme.client.gui;
+
+import com.github.scaleme.client.util.ScaleMetrics;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderTickCounter;
+
+import java.util.List;
+
+/**
+ * F3-style overlay with the live {@link ScaleMetrics} summary, toggled by /scaleme stats overlay.
+ */
+public class StatsOverlay {
+    private static final int MARGIN = 2;
+    private static final int LINE_HEIGHT = 9;
+    private static final int BACKGROUND_COLOR = 0x90505050;
+    private static final int TEXT_COLOR = 0xFFE0E0E0;
+
+    private static boolean visible = false;
+
+    public static boolean toggle() {
+        visible = !visible;
+        return visible;
+    }
+
+    public static void render(DrawContext context, RenderTickCounter tickCounter) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (!visible || client.getDebugHud().shouldShowDebugHud()) {
+            return;
+        }
+
+        TextRenderer textRenderer = client.textRenderer;
+        List<String> lines = ScaleMetrics.summarize();
+        // Right-aligned so it does not cover chat or the vanilla debug column
+        int y = MARGIN;
+        for (String line : lines) {
+            int width = textRenderer.getWidth(line);
+            int x = context.getScaledWindowWidth() - width - MARGIN;
+            context.fill(x - 1, y - 1, x + width + 1, y + LINE_HEIGHT - 1, BACKGROUND_COLOR);
+            context.drawText(textRenderer, line, x, y, TEXT_COLOR, false);
+            y += LINE_HEIGHT;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.scaleme.client.jfr;
+
+import com.github.scaleme.client.util.HypixelDetector;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("scaleme.HypixelDetection")
+@Label("Hypixel Detection Pass")
+@Category({"ScaleMe", "Safety"})
+@Description("One HypixelDetector pass over the scoreboard and tab list")
+@StackTrace(false)
+class DetectionEvent extends jdk.jfr.Event {
+    @Label("Inputs Hash")
+    @Description("Hash of the combined scoreboard and tab list text, 0 when not on Hypixel")
+    int inputsHash;
+
+    @Label("On Hypixel")
+    boolean onHypixel;
+
+    @Label("Competitive")
+    boolean competitive;
+
+    @Label("Skyblock")
+    boolean skyblock;
+
+    @Label("Game Mode")
+    String gameMode;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long durationNanos;
+
+    static void emit(int inputsHash, HypixelDetector.Classification classification, boolean onHypixel, long durationNanos) {
+        DetectionEvent event = new DetectionEvent();
+        if (!event.isEnabled()) return;
+
+        event.inputsHash = inputsHash;
+        event.onHypixel = onHypixel;
+        if (classification != null) {
+            event.competitive = classification.competitive();
+            event.skyblock = classification.skyblock();
+            event.gameMode = classification.gameMode();
+        }
+        event.durationNanos = durationNanos;
+        event.commit();
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.scaleme.client.jfr;
+
+import com.github.scaleme.client.util.FrameBudget;
+import com.github.scaleme.client.util.ScaleManager;
+import com.github.scaleme.client.util.ScaleMetrics;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic summary of the frame path, computed from {@link ScaleMetrics} deltas on the JFR
+ * thread, so the render thread pays nothing extra for it.
+ */
+@Name("scaleme.FrameSummary")
+@Label("Scale Frame Summary")
+@Category({"ScaleMe", "Rendering"})
+@Description("Scale resolution work since the previous summary")
+@Period("1 s")
+@StackTrace(false)
+class FrameSummaryEvent extends jdk.jfr.Event {
+    // Counter values at the previous summary; seeded on registration, then only touched by the JFR periodic thread
+    private static long lastFrames;
+    private static long lastResolveNanos;
+    private static long lastLookups;
+
+    @Label("Frames")
+    long frames;
+
+    @Label("Scale Lookups")
+    long lookups;
+
+    @Label("Average Frame Resolve")
+    @Timespan(Timespan.NANOSECONDS)
+    long averageResolveNanos;
+
+    @Label("Tracked Players")
+    int trackedPlayers;
+
+    @Label("Animating Players")
+    int animatingPlayers;
+
+    @Label("Budget Policy")
+    String budgetPolicy;
+
+    static void register() {
+        // The first summary starts now rather than at launch
+        lastFrames = ScaleMetrics.FRAME_RESOLVE_NANOS.count();
+        lastResolveNanos = ScaleMetrics.FRAME_RESOLVE_NANOS.total();
+        lastLookups = ScaleMetrics.FRAME_SCALE_LOOKUPS.sum() + ScaleMetrics.FULL_SCALE_RESOLUTIONS.sum();
+        FlightRecorder.addPeriodicEvent(FrameSummaryEvent.class, FrameSummaryEvent::emit);
+    }
+
+    private static void emit() {
+        if (!ScaleJfr.isEnabled()) return;
+
+        long frames = ScaleMetrics.FRAME_RESOLVE_NANOS.count();
+        long resolveNanos = ScaleMetrics.FRAME_RESOLVE_NANOS.total();
+        long lookups = ScaleMetrics.FRAME_SCALE_LOOKUPS.sum() + ScaleMetrics.FULL_SCALE_RESOLUTIONS.sum();
+        if (frames < lastFrames || lookups < lastLookups) {
+            // Metrics were reset through /scaleme stats reset; start a fresh window
+            lastFrames = lastResolveNanos = lastLookups = 0;
+        }
+
+        FrameSummaryEvent event = new FrameSummaryEvent();
+        event.frames = frames - lastFrames;
+        event.lookups = lookups - lastLookups;
+        event.averageResolveNanos = event.frames > 0 ? (resolveNanos - lastResolveNanos) / event.frames : 0;
+        // Read off-thread; plain reads are fine for a diagnostic sample
+        event.trackedPlayers = ScaleManager.getTrackedPlayerCount();
+        event.animatingPlayers = ScaleManager.getAnimatingPlayerCount();
+        event.budgetPolicy = FrameBudget.getPolicy().name();
+        event.commit();
+
+        lastFrames = frames;
+        lastResolveNanos = resolveNanos;
+        lastLookups = lookups;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.scaleme.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("scaleme.PresetIo")
+@Label("Preset I/O")
+@Category({"ScaleMe", "Presets"})
+@Description("Player preset file loaded or saved")
+@StackTrace(false)
+class PresetIoEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("File")
+    String file;
+
+    @Label("File Size")
+    @DataAmount
+    long fileSize;
+
+    @Label("Preset Count")
+    int presetCount;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long durationNanos;
+
+    static void emit(String operation, String file, long fileSize, int presetCount, long durationNanos) {
+        PresetIoEvent event = new PresetIoEvent();
+        if (!event.isEnabled()) return;
+
+        event.operation = operation;
+        event.file = file;
+        event.fileSize = fileSize;
+        event.presetCount = presetCount;
+        event.durationNanos = durationNanos;
+        event.commit();
+    }
+}
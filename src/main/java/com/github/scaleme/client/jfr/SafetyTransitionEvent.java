@@ -0,0 +1,29 @@
+package com.github.scaleme.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("scaleme.SafetyTransition")
+@Label("Safety State Transition")
+@Category({"ScaleMe", "Safety"})
+@Description("Scaling was blocked or unblocked by the Hypixel safety gate")
+@StackTrace(false)
+class SafetyTransitionEvent extends jdk.jfr.Event {
+    @Label("Scaling Blocked")
+    boolean scalingBlocked;
+
+    @Label("Reason")
+    String reason;
+
+    static void emit(boolean scalingBlocked, String reason) {
+        SafetyTransitionEvent event = new SafetyTransitionEvent();
+        if (!event.isEnabled()) return;
+
+        event.scalingBlocked = scalingBlocked;
+        event.reason = reason;
+        event.commit();
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.scaleme.client.jfr;
+
+import com.github.scaleme.client.util.HypixelDetector;
+import com.github.scaleme.config.ScaleSettings;
+
+/**
+ * Entry point for ScaleMe's JFR events. Off unless "Emit JFR Events" is enabled, and every
+ * call site checks {@link #isEnabled()} first, so a disabled setup costs one volatile read.
+ * No event class is loaded until the setting is first turned on: that is also when the
+ * periodic frame summary is registered, so per-frame data is only summarized, never
+ * recorded per call.
+ */
+public final class ScaleJfr {
+    // Some trimmed runtimes ship without the jdk.jfr module
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    // Client thread only; the periodic hook stays registered once added
+    private static boolean periodicRegistered = false;
+
+    private ScaleJfr() {
+    }
+
+    /**
+     * Registers the periodic frame summary the first time events are enabled. Called every tick.
+     */
+    public static void update(ScaleSettings settings) {
+        if (!periodicRegistered && AVAILABLE && settings.enableJfrEvents()) {
+            periodicRegistered = true;
+            FrameSummaryEvent.register();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return AVAILABLE && ScaleSettings.get().enableJfrEvents();
+    }
+
+    public static void presetIo(String operation, String file, long fileSize, int presetCount, long durationNanos) {
+        PresetIoEvent.emit(operation, file, fileSize, presetCount, durationNanos);
+    }
+
+    public static void detection(int inputsHash, HypixelDetector.Classification classification, boolean onHypixel, long durationNanos) {
+        DetectionEvent.emit(inputsHash, classification, onHypixel, durationNanos);
+    }
+
+    public static void safetyTransition(boolean scalingBlocked, String reason) {
+        SafetyTransitionEvent.emit(scalingBlocked, reason);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.client.util.PlayerNameIndex;
+import com.github.scaleme.client.util.TeamIndex;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.PlayerListS2CPacket;
+import net.minecraft.network.packet.s2c.play.PlayerRemoveS2CPacket;
+import net.minecraft.network.packet.s2c.play.TeamS2CPacket;
+import net.minecraft.text.Text;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.UUID;
+
+@Mixin(ClientPlayNetworkHandler.class)
+public class ClientPlayNetworkHandlerMixin {
+
+    /**
+     * Feeds newly listed players and display name changes into the name index. Only reached
+     * on the client thread, the network thread bails out earlier to reschedule the packet.
+     */
+    @Inject(method = "onPlayerList", at = @At("TAIL"))
+    private void onPlayerListAdd(PlayerListS2CPacket packet, CallbackInfo ci) {
+        if (packet.getActions().contains(PlayerListS2CPacket.Action.ADD_PLAYER)) {
+            for (PlayerListS2CPacket.Entry entry : packet.getPlayerAdditionEntries()) {
+                if (entry.profile() != null) {
+                    PlayerNameIndex.onPlayerAdded(entry.profileId(), entry.profile().getName());
+                }
+            }
+        }
+
+        // Sent along with ADD_PLAYER for decorated entries, and on its own when a name changes
+        if (packet.getActions().contains(PlayerListS2CPacket.Action.UPDATE_DISPLAY_NAME)) {
+            for (PlayerListS2CPacket.Entry entry : packet.getEntries()) {
+                Text displayName = entry.displayName();
+                PlayerNameIndex.onDisplayNameChanged(entry.profileId(), displayName != null ? displayName.getString() : null);
+            }
+        }
+    }
+
+    /**
+     * Drops players that left the player list from the name index.
+     */
+    @Inject(method = "onPlayerRemove", at = @At("TAIL"))
+    private void onPlayerListRemove(PlayerRemoveS2CPacket packet, CallbackInfo ci) {
+        for (UUID uuid : packet.profileIds()) {
+            PlayerNameIndex.onPlayerRemoved(uuid);
+        }
+    }
+
+    /**
+     * Mirrors team creation, removal and membership changes into the team index.
+     */
+    @Inject(method = "onTeam", at = @At("TAIL"))
+    private void onTeamUpdate(TeamS2CPacket packet, CallbackInfo ci) {
+        if (packet.getTeamOperation() == TeamS2CPacket.Operation.REMOVE) {
+            TeamIndex.onTeamRemoved(packet.getTeamName());
+            return;
+        }
+
+        TeamS2CPacket.Operation playerOperation = packet.getPlayerListOperation();
+        if (playerOperation == TeamS2CPacket.Operation.ADD) {
+            TeamIndex.onMembersAdded(packet.getTeamName(), packet.getPlayerNames());
+        } else if (playerOperation == TeamS2CPacket.Operation.REMOVE) {
+            TeamIndex.onMembersRemoved(packet.getTeamName(), packet.getPlayerNames());
+        }
+    }
+}
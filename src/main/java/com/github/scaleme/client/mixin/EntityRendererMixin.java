@@ -0,0 +1,60 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.client.util.ScaleManager;
+import net.minecraft.client.render.Frustum;
+import net.minecraft.client.render.entity.EntityRenderer;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.math.Box;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+@Mixin(EntityRenderer.class)
+public class EntityRendererMixin {
+
+    /**
+     * Redirects the frustum test for the entity's own bounds so scaled players and entities
+     * are culled by the size they are drawn at: large ones stop popping at the screen edge
+     * and small ones outside the view are skipped. The box passed in is the renderer's own
+     * {@code getBoundingBox(entity)} grown by 0.5, already replaced by vanilla's fallback
+     * when it was NaN or empty, so subclass overrides and that fallback both still apply.
+     */
+    @Redirect(
+            method = "shouldRender",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/client/render/Frustum;isVisible(Lnet/minecraft/util/math/Box;)Z", ordinal = 0)
+    )
+    private boolean isScaledBoxVisible(Frustum frustum, Box box, Entity entity, Frustum frustumArg, double x, double y, double z) {
+        float scale = 1.0f;
+        if (entity instanceof PlayerEntity) {
+            scale = ScaleManager.getFrameScale(entity.getUuid());
+        } else if (entity instanceof LivingEntity) {
+            scale = ScaleManager.getEntityScale(entity);
+        }
+        if (scale != 1.0f) {
+            Box scaled = scaleme$scaleFromFeet(box.contract(0.5), scale, 0.5);
+            if (!scaled.isNaN() && scaled.getAverageSideLength() > 0.0) {
+                return frustum.isVisible(scaled);
+            }
+        }
+        return frustum.isVisible(box);
+    }
+
+    /**
+     * Scales a bounding box the same way the model matrix is scaled (around the feet) and
+     * grows it by a margin, building a single Box per call.
+     */
+    @Unique
+    private static Box scaleme$scaleFromFeet(Box bounds, float scale, double margin) {
+        double centerX = (bounds.minX + bounds.maxX) * 0.5;
+        double centerZ = (bounds.minZ + bounds.maxZ) * 0.5;
+        double halfX = bounds.getLengthX() * 0.5 * scale + margin;
+        double halfZ = bounds.getLengthZ() * 0.5 * scale + margin;
+        return new Box(
+                centerX - halfX, bounds.minY - margin, centerZ - halfZ,
+                centerX + halfX, bounds.minY + bounds.getLengthY() * scale + margin, centerZ + halfZ
+        );
+    }
+}
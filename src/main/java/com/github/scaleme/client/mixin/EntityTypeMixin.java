@@ -0,0 +1,33 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.client.util.EntityScaleTable;
+import com.github.scaleme.client.util.ScaledEntityTypeAccessor;
+import net.minecraft.entity.EntityType;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(EntityType.class)
+public class EntityTypeMixin implements ScaledEntityTypeAccessor {
+
+    @Unique
+    private EntityScaleTable scaleme$scaleTable;
+
+    @Unique
+    private float scaleme$typeScale = 1.0f;
+
+    @Override
+    public EntityScaleTable scaleme$getScaleTable() {
+        return this.scaleme$scaleTable;
+    }
+
+    @Override
+    public float scaleme$getTypeScale() {
+        return this.scaleme$typeScale;
+    }
+
+    @Override
+    public void scaleme$setTypeScale(EntityScaleTable table, float scale) {
+        this.scaleme$scaleTable = table;
+        this.scaleme$typeScale = scale;
+    }
+}
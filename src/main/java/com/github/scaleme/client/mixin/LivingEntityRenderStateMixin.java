@@ -0,0 +1,32 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.client.util.ScaledRenderStateAccessor;
+import net.minecraft.client.render.entity.state.LivingEntityRenderState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(LivingEntityRenderState.class)
+public class LivingEntityRenderStateMixin implements ScaledRenderStateAccessor {
+
+    @Unique
+    private float scaleme$scale = 1.0f;
+
+    @Unique
+    private boolean scaleme$shouldScale = false;
+
+    @Override
+    public void scaleme$setScale(float scale) {
+        this.scaleme$scale = scale;
+        this.scaleme$shouldScale = scale != 1.0f;
+    }
+
+    @Override
+    public float scaleme$getScale() {
+        return this.scaleme$scale;
+    }
+
+    @Override
+    public boolean scaleme$shouldScale() {
+        return this.scaleme$shouldScale;
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.client.util.ScaledRenderStateAccessor;
+import com.github.scaleme.client.util.ScaleManager;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.entity.LivingEntityRenderer;
+import net.minecraft.client.render.entity.state.LivingEntityRenderState;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(LivingEntityRenderer.class)
+public class LivingEntityRendererMixin {
+
+    @Inject(method = "updateRenderState(Lnet/minecraft/entity/LivingEntity;Lnet/minecraft/client/render/entity/state/LivingEntityRenderState;F)V",
+            at = @At("TAIL"))
+    private void storeEntityScale(LivingEntity entity, LivingEntityRenderState renderState, float tickDelta, CallbackInfo ci) {
+        // Players are resolved afterwards by PlayerEntityRendererMixin; render states are reused, so always write
+        if (!(entity instanceof PlayerEntity)) {
+            ((ScaledRenderStateAccessor) renderState).scaleme$setScale(ScaleManager.getEntityScale(entity));
+        }
+    }
+
+    /**
+     * Applies the stored scale right before the renderer's own scale() call, so renderers
+     * that override scale() without calling super are covered as well.
+     */
+    @Inject(method = "render(Lnet/minecraft/client/render/entity/state/LivingEntityRenderState;Lnet/minecraft/client/util/math/MatrixStack;Lnet/minecraft/client/render/VertexConsumerProvider;I)V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/client/render/entity/LivingEntityRenderer;scale(Lnet/minecraft/client/render/entity/state/LivingEntityRenderState;Lnet/minecraft/client/util/math/MatrixStack;)V"))
+    private void scaleEntityModel(LivingEntityRenderState renderState, MatrixStack matrixStack, VertexConsumerProvider vertexConsumers, int light, CallbackInfo ci) {
+        ScaledRenderStateAccessor accessor = (ScaledRenderStateAccessor) renderState;
+        if (accessor.scaleme$shouldScale()) {
+            float scale = accessor.scaleme$getScale();
+            matrixStack.scale(scale, scale, scale);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.scaleme.client.mixin;
+
+import com.github.scaleme.Scaleme;
+import com.github.scaleme.config.ScaleSettings;
+import eu.midnightdust.lib.config.MidnightConfig;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(value = MidnightConfig.class, remap = false)
+public class MidnightConfigMixin {
+
+    /**
+     * Republishes the settings snapshot whenever our config file is saved.
+     */
+    @Inject(method = "write(Ljava/lang/String;)V", at = @At("TAIL"))
+    private static void onWrite(String modid, CallbackInfo ci) {
+        if (Scaleme.MOD_ID.equals(modid)) {
+            ScaleSettings.rebuild();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.scaleme.client.mixin;
+
+import net.minecraft.client.gui.hud.PlayerListHud;
+import net.minecraft.text.Text;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(PlayerListHud.class)
+public interface PlayerListHudAccessor {
+
+    @Accessor("header")
+    Text scaleme$getHeader();
+
+    @Accessor("footer")
+    Text scaleme$getFooter();
+}
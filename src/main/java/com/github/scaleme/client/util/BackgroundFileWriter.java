@@ -0,0 +1,138 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes a file off the calling thread, coalescing bursts of requests into one write.
+ * The content is produced when the write actually runs, so it always reflects the latest
+ * state, and it goes to a temp file that atomically replaces the target: readers see either
+ * the old or the new file, never a torn one. {@link #flush()} writes synchronously and is
+ * used on shutdown.
+ */
+public final class BackgroundFileWriter {
+    // One shared daemon thread; writes are rare and small compared to a frame
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ScaleMe File Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    public interface Content {
+        /**
+         * Writes the current state and returns the number of entries written.
+         */
+        int write(Writer writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called on the writing thread after the target was replaced; {@code checksum} is the
+         * CRC32 of the bytes written.
+         */
+        void written(Path target, int entries, long checksum, long nanos);
+    }
+
+    private final Path target;
+    private final Path temp;
+    private final Content content;
+    private final Listener listener;
+    private final BooleanSupplier ready;
+    private final long delayMillis;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // Serializes writes from the executor and flush() so the temp file is never shared
+    private final Object writeLock = new Object();
+
+    public BackgroundFileWriter(Path target, long delayMillis, Content content, Listener listener) {
+        this(target, delayMillis, content, listener, () -> true);
+    }
+
+    /**
+     * {@code ready} is asked on the writing thread before each write; when it returns false the
+     * write is dropped, and the owner requests it again once the target may be replaced.
+     */
+    public BackgroundFileWriter(Path target, long delayMillis, Content content, Listener listener, BooleanSupplier ready) {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.content = content;
+        this.listener = listener;
+        this.ready = ready;
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Runs a task on the writer thread, ordered with the writes scheduled there.
+     */
+    public static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Schedules a write. Requests made before the pending write runs are folded into it.
+     */
+    public void requestWrite() {
+        if (dirty.compareAndSet(false, true)) {
+            EXECUTOR.schedule(this::writeIfDirty, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes any pending change on the calling thread.
+     */
+    public void flush() {
+        writeIfDirty();
+    }
+
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    private void writeIfDirty() {
+        synchronized (writeLock) {
+            // Cleared before producing content, so a change made during the write schedules another
+            if (!dirty.getAndSet(false) || !ready.getAsBoolean()) return;
+
+            long start = System.nanoTime();
+            try {
+                int entries;
+                CheckedOutputStream output = new CheckedOutputStream(Files.newOutputStream(temp), new CRC32());
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                    entries = content.write(writer);
+                }
+                replaceTarget();
+                if (listener != null) {
+                    listener.written(target, entries, output.getChecksum().getValue(), System.nanoTime() - start);
+                }
+            } catch (IOException | RuntimeException e) {
+                Scaleme.LOGGER.error("Failed to write {}", target.getFileName(), e);
+            }
+        }
+    }
+
+    private void replaceTarget() throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Some file systems can't rename atomically; a plain replace is still better than a partial write
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
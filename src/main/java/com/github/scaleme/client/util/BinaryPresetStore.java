@@ -0,0 +1,215 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+import com.github.scaleme.client.data.PlayerPreset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary snapshot of the presets (scaleme_presets.bin), written next to the JSON
+ * file after every full save and memory-mapped on startup instead of parsing JSON.
+ * Layout: header (magic, version, the size and modification time of the JSON it was made
+ * from), a string table holding every category, display name and non-UUID identifier once,
+ * then one fixed-size record per preset (flags as bits, UUID as two longs or a string id,
+ * scale as float, string ids for category and display name), followed by a CRC32 of
+ * everything before it. The JSON file stays the human-editable format: the snapshot is only
+ * used while the JSON still has exactly the recorded size and modification time.
+ */
+public final class BinaryPresetStore {
+    private static final int MAGIC = 0x53434D50; // "SCMP"
+    private static final short VERSION = 2;
+    // magic, version, JSON size, JSON modification time
+    private static final int HEADER_BYTES = 4 + 2 + 8 + 8;
+
+    private static final int FLAG_ENABLED = 1;
+    private static final int FLAG_UUID = 1 << 1;
+    private static final int FLAG_DISPLAY_NAME = 1 << 2;
+
+    private static final int NO_STRING = -1;
+    // flags, UUID halves (or identifier id + padding), scale, category, display name
+    private static final int RECORD_BYTES = 1 + 8 + 8 + 4 + 4 + 4;
+
+    private BinaryPresetStore() {
+    }
+
+    /**
+     * Size and modification time of the JSON file a snapshot was made from.
+     */
+    public record Source(long size, long modifiedNanos) {
+        /**
+         * Stamps the JSON file as it is now, or returns null when it can't be read.
+         */
+        public static Source of(Path json) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(json, BasicFileAttributes.class);
+                return new Source(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads the snapshot made from the JSON file as it is now. Returns null when the snapshot
+     * is missing, was made from a different version of the JSON, is from another format
+     * version or is corrupt.
+     */
+    public static List<PlayerPreset> read(Path snapshot, Path json) {
+        Source source = Source.of(json);
+        if (source == null || !Files.exists(snapshot)) return null;
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer, source);
+        } catch (IOException e) {
+            Scaleme.LOGGER.warn("Failed to read binary preset snapshot", e);
+            return null;
+        }
+    }
+
+    private static List<PlayerPreset> decode(ByteBuffer buffer, Source source) {
+        try {
+            if (buffer.remaining() < HEADER_BYTES + 4 + 4 + 4) return null;
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) return null;
+            // Any edit to the JSON, even one that kept an older timestamp, makes the snapshot stale
+            if (buffer.getLong() != source.size() || buffer.getLong() != source.modifiedNanos()) return null;
+
+            // Verify before trusting any count or offset
+            int bodyLength = buffer.limit() - 4;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(0).limit(bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+                Scaleme.LOGGER.warn("Binary preset snapshot failed its checksum, falling back to JSON");
+                return null;
+            }
+
+            int stringCount = buffer.getInt();
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int presetCount = buffer.getInt();
+            List<PlayerPreset> presets = new ArrayList<>(presetCount);
+            for (int i = 0; i < presetCount; i++) {
+                int flags = buffer.get();
+                long most = buffer.getLong();
+                long least = buffer.getLong();
+                float scale = buffer.getFloat();
+                int category = buffer.getInt();
+                int displayName = buffer.getInt();
+
+                String identifier = (flags & FLAG_UUID) != 0 ? new UUID(most, least).toString() : strings[(int) most];
+                presets.add(new PlayerPreset(
+                        identifier,
+                        (flags & FLAG_DISPLAY_NAME) != 0 ? strings[displayName] : null,
+                        scale,
+                        (flags & FLAG_ENABLED) != 0,
+                        strings[category]
+                ));
+            }
+            return presets;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            Scaleme.LOGGER.warn("Binary preset snapshot is truncated, falling back to JSON");
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the presets read from or written to the JSON file stamped as
+     * {@code source}, through a temp file that atomically replaces the previous one.
+     */
+    public static void write(Path snapshot, Source source, List<PlayerPreset> presets) throws IOException {
+        StringTable strings = new StringTable();
+        int[] identifiers = new int[presets.size()];
+        int[] categories = new int[presets.size()];
+        int[] displayNames = new int[presets.size()];
+        for (int i = 0; i < presets.size(); i++) {
+            PlayerPreset preset = presets.get(i);
+            identifiers[i] = storesUUID(preset) ? NO_STRING : strings.idOf(preset.identifier);
+            categories[i] = strings.idOf(preset.category);
+            displayNames[i] = preset.displayName != null ? strings.idOf(preset.displayName) : NO_STRING;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 + strings.bytes + 4 + presets.size() * RECORD_BYTES + 4);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.putLong(source.size()).putLong(source.modifiedNanos());
+        buffer.putInt(strings.values.size());
+        for (byte[] bytes : strings.values) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        buffer.putInt(presets.size());
+        for (int i = 0; i < presets.size(); i++) {
+            PlayerPreset preset = presets.get(i);
+            boolean uuid = identifiers[i] == NO_STRING;
+            int flags = (preset.enabled ? FLAG_ENABLED : 0)
+                    | (uuid ? FLAG_UUID : 0)
+                    | (displayNames[i] != NO_STRING ? FLAG_DISPLAY_NAME : 0);
+            buffer.put((byte) flags);
+            if (uuid) {
+                buffer.putLong(preset.getUUID().getMostSignificantBits());
+                buffer.putLong(preset.getUUID().getLeastSignificantBits());
+            } else {
+                buffer.putLong(identifiers[i]).putLong(0);
+            }
+            buffer.putFloat(preset.scale).putInt(categories[i]).putInt(displayNames[i]);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        try {
+            Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Only store the UUID form when it turns back into the exact identifier text
+    private static boolean storesUUID(PlayerPreset preset) {
+        return preset.isUUID() && preset.getUUID().toString().equals(preset.identifier);
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int bytes;
+
+        int idOf(String value) throws IOException {
+            Integer id = ids.get(value);
+            if (id != null) return id;
+
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (encoded.length > 0xFFFF) {
+                throw new IOException("Preset text too long for the binary snapshot");
+            }
+            ids.put(value, values.size());
+            values.add(encoded);
+            bytes += 2 + encoded.length;
+            return values.size() - 1;
+        }
+    }
+}
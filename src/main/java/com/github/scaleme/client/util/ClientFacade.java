@@ -0,0 +1,67 @@
+package com.github.scaleme.client.util;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The slice of client state the scaling and detection code reads.
+ * {@link MinecraftClientFacade} backs it with the running game; {@link InMemoryClientFacade}
+ * lets the same code run on a plain JVM (benchmarks, synthetic sessions).
+ */
+public interface ClientFacade {
+
+    static ClientFacade get() {
+        return Holder.current;
+    }
+
+    /**
+     * Replaces the facade used by ScaleManager and HypixelDetector.
+     */
+    static void install(ClientFacade facade) {
+        Holder.current = facade;
+    }
+
+    /**
+     * True while a world and the local player are loaded.
+     */
+    boolean isInWorld();
+
+    // UUID of the local player, null when not in a world
+    UUID getLocalPlayerUUID();
+
+    // UUIDs of the players currently loaded in the world
+    Collection<UUID> getWorldPlayerUUIDs();
+
+    /**
+     * Visits every loaded player with its squared distance to the local player, without allocating.
+     */
+    void forEachWorldPlayer(PlayerVisitor visitor);
+
+    // Address of the multiplayer server, null in singleplayer or when not connected
+    String getServerAddress();
+
+    // Sidebar objective title, empty when there is none
+    String getSidebarTitle();
+
+    // Tab list header and footer, empty when not set
+    String getTabListHeader();
+
+    String getTabListFooter();
+
+    /**
+     * Runs a task on the client thread, e.g. to publish state built on a background thread.
+     */
+    void execute(Runnable task);
+
+    @FunctionalInterface
+    interface PlayerVisitor {
+        void visit(UUID playerUUID, double squaredDistance);
+    }
+
+    final class Holder {
+        private static volatile ClientFacade current = new MinecraftClientFacade();
+
+        private Holder() {
+        }
+    }
+}
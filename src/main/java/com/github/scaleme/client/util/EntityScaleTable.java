@@ -0,0 +1,154 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+import com.github.scaleme.client.data.PlayerPreset;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scales for non-player entities, compiled from the {@code type=scale} and {@code name=scale}
+ * config lists. Type scales live in a float array indexed by the entity type's raw registry id;
+ * the result is also cached on the {@link EntityType} itself, stamped with the table that
+ * computed it, so after the first lookup per type an entity without a custom name costs two
+ * field reads instead of a registry lookup. Name rules (exact names, globs or
+ * {@code regex:} rules, as for presets) win over type rules; their result is cached per
+ * custom name {@link Text} instance, which the entity keeps until its name changes.
+ * Raw ids can be remapped by registry sync, so tables are recompiled per world.
+ * Not thread-safe: used on the render thread only.
+ */
+public final class EntityScaleTable {
+    public static final EntityScaleTable EMPTY = new EntityScaleTable(new float[0], Map.of(), PresetPatternMatcher.EMPTY);
+
+    // Bound on cached names; entities with per-tick changing names (e.g. health bars) would grow it forever
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    private final float[] typeScales;
+    private final Map<String, Float> exactNames;
+    private final PresetPatternMatcher namePatterns;
+    private final boolean hasNameRules;
+    private final boolean empty;
+    private final Map<Text, Float> nameCache = new IdentityHashMap<>();
+
+    private EntityScaleTable(float[] typeScales, Map<String, Float> exactNames, PresetPatternMatcher namePatterns) {
+        this.typeScales = typeScales;
+        this.exactNames = exactNames;
+        this.namePatterns = namePatterns;
+        this.hasNameRules = !exactNames.isEmpty() || !namePatterns.isEmpty();
+        this.empty = typeScales.length == 0 && !hasNameRules;
+    }
+
+    public static EntityScaleTable compile(List<String> typeRules, List<String> nameRules) {
+        float[] typeScales = new float[0];
+        for (String rule : typeRules) {
+            int separator = rule.lastIndexOf('=');
+            float scale = separator > 0 ? parseScale(rule.substring(separator + 1)) : Float.NaN;
+            Identifier id = separator > 0 ? Identifier.tryParse(rule.substring(0, separator).trim()) : null;
+            Optional<EntityType<?>> type = id != null ? Registries.ENTITY_TYPE.getOptionalValue(id) : Optional.empty();
+            if (Float.isNaN(scale) || type.isEmpty()) {
+                Scaleme.LOGGER.warn("Ignoring invalid entity scale rule '{}'", rule);
+                continue;
+            }
+
+            int rawId = Registries.ENTITY_TYPE.getRawId(type.get());
+            if (rawId >= typeScales.length) {
+                int oldLength = typeScales.length;
+                typeScales = Arrays.copyOf(typeScales, rawId + 1);
+                Arrays.fill(typeScales, oldLength, typeScales.length, 1.0f);
+            }
+            typeScales[rawId] = scale;
+        }
+
+        Map<String, Float> exactNames = new HashMap<>();
+        List<PlayerPreset> patterns = new ArrayList<>();
+        for (String rule : nameRules) {
+            int separator = rule.lastIndexOf('=');
+            float scale = separator > 0 ? parseScale(rule.substring(separator + 1)) : Float.NaN;
+            if (Float.isNaN(scale)) {
+                Scaleme.LOGGER.warn("Ignoring invalid entity name rule '{}'", rule);
+                continue;
+            }
+
+            // Reuse the preset identifier syntax so names support the same globs and regex rules
+            PlayerPreset nameRule = new PlayerPreset(rule.substring(0, separator), null, scale, null);
+            if (nameRule.isPattern()) {
+                patterns.add(nameRule);
+            } else {
+                exactNames.putIfAbsent(nameRule.getKey(), scale);
+            }
+        }
+
+        if (typeScales.length == 0 && exactNames.isEmpty() && patterns.isEmpty()) {
+            return EMPTY;
+        }
+        return new EntityScaleTable(
+                typeScales,
+                exactNames,
+                patterns.isEmpty() ? PresetPatternMatcher.EMPTY : new PresetPatternMatcher(patterns)
+        );
+    }
+
+    private static float parseScale(String value) {
+        try {
+            float scale = Float.parseFloat(value.trim());
+            return scale > 0.0f ? scale : Float.NaN;
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public float scaleOf(Entity entity) {
+        if (empty) return 1.0f;
+
+        if (hasNameRules) {
+            Text customName = entity.getCustomName();
+            if (customName != null) {
+                float scale = nameScale(customName);
+                if (!Float.isNaN(scale)) return scale;
+            }
+        }
+
+        ScaledEntityTypeAccessor type = (ScaledEntityTypeAccessor) entity.getType();
+        if (type.scaleme$getScaleTable() == this) {
+            return type.scaleme$getTypeScale();
+        }
+
+        // First lookup of this type since the table was compiled
+        int rawId = Registries.ENTITY_TYPE.getRawId(entity.getType());
+        float scale = rawId >= 0 && rawId < typeScales.length ? typeScales[rawId] : 1.0f;
+        type.scaleme$setTypeScale(this, scale);
+        return scale;
+    }
+
+    private float nameScale(Text customName) {
+        Float cached = nameCache.get(customName);
+        if (cached != null) return cached;
+
+        String name = Formatting.strip(customName.getString()).trim().toLowerCase(Locale.ROOT);
+        Float exact = exactNames.get(name);
+        PlayerPreset match = exact == null ? namePatterns.match(name) : null;
+        float scale = exact != null ? exact : match != null ? match.scale : Float.NaN;
+
+        if (nameCache.size() >= MAX_CACHED_NAMES) {
+            nameCache.clear();
+        }
+        nameCache.put(customName, scale);
+        return scale;
+    }
+}
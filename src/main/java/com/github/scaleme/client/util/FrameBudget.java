@@ -0,0 +1,97 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.config.ScaleSettings;
+
+/**
+ * Adaptive per-frame work budget. The mod's own cost per frame (frame pass plus the last
+ * tick's work) is tracked as a moving average; while it stays above the configured budget
+ * the policy steps down one level at a time, and once it has stayed well below the budget
+ * for a while it steps back up, so large crowds degrade gracefully instead of eating frame time.
+ * Only touched on the client thread.
+ */
+public final class FrameBudget {
+    // Consecutive frames over budget before degrading, and under half the budget before recovering
+    private static final int FRAMES_TO_DEGRADE = 30;
+    private static final int FRAMES_TO_RECOVER = 120;
+    private static final double AVERAGE_WEIGHT = 0.1;
+
+    public enum Policy {
+        FULL("Full fidelity"),
+        SNAP_DISTANT("Snapping distant players"),
+        SNAP_ALL("Snapping all animations"),
+        PRESETS_ONLY("Scaling explicit preset players only");
+
+        private final String description;
+
+        Policy(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private static Policy policy = Policy.FULL;
+    private static double averageNanos = 0;
+    private static long pendingTickNanos = 0;
+    private static int framesOver = 0;
+    private static int framesUnder = 0;
+
+    private FrameBudget() {
+    }
+
+    public static Policy getPolicy() {
+        return policy;
+    }
+
+    public static double getAverageMicros() {
+        return averageNanos / 1000.0;
+    }
+
+    /**
+     * Tick work is charged to the next frame.
+     */
+    static void recordTick(long nanos) {
+        pendingTickNanos += nanos;
+    }
+
+    static void recordFrame(long nanos, ScaleSettings settings) {
+        long cost = nanos + pendingTickNanos;
+        pendingTickNanos = 0;
+        averageNanos += (cost - averageNanos) * AVERAGE_WEIGHT;
+
+        if (!settings.enableFrameBudget()) {
+            policy = Policy.FULL;
+            framesOver = 0;
+            framesUnder = 0;
+            return;
+        }
+
+        long budget = settings.frameBudgetNanos();
+        if (averageNanos > budget) {
+            framesUnder = 0;
+            if (++framesOver >= FRAMES_TO_DEGRADE && policy.ordinal() < Policy.values().length - 1) {
+                policy = Policy.values()[policy.ordinal() + 1];
+                framesOver = 0;
+            }
+        } else if (averageNanos < budget * 0.5) {
+            framesOver = 0;
+            if (++framesUnder >= FRAMES_TO_RECOVER && policy != Policy.FULL) {
+                policy = Policy.values()[policy.ordinal() - 1];
+                framesUnder = 0;
+            }
+        } else {
+            framesOver = 0;
+            framesUnder = 0;
+        }
+    }
+
+    public static void reset() {
+        policy = Policy.FULL;
+        averageNanos = 0;
+        pendingTickNanos = 0;
+        framesOver = 0;
+        framesUnder = 0;
+    }
+}
@@ -1,10 +1,7 @@
 package com.github.scaleme.client.util;
 
 import com.github.scaleme.Scaleme;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.network.ServerInfo;
-import net.minecraft.scoreboard.ScoreboardDisplaySlot;
-import net.minecraft.text.Text;
+import com.github.scaleme.client.jfr.ScaleJfr;
 
 import java.util.Set;
 
@@ -60,9 +57,13 @@ public class HypixelDetector {
 
     private static boolean isOnHypixel = false;
     private static boolean isInCompetitiveGame = false;
+    private static boolean isInSkyblock = false;
     private static String currentGameMode = "";
     private static String currentLocation = "";
     private static long lastCheck = 0;
+    // Inputs and outcome of the last pass, only read for JFR events
+    private static int lastInputsHash = 0;
+    private static Classification lastClassification = null;
     private static final long CHECK_INTERVAL = 1000; // Check every second
 
     /**
@@ -76,15 +77,28 @@ public class HypixelDetector {
         }
         lastCheck = currentTime;
 
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.world == null || client.player == null) {
+        long start = System.nanoTime();
+        runDetection();
+        long elapsed = System.nanoTime() - start;
+        ScaleMetrics.HYPIXEL_DETECTION_NANOS.record(elapsed);
+        if (ScaleJfr.isEnabled()) {
+            ScaleJfr.detection(lastInputsHash, lastClassification, isOnHypixel, elapsed);
+        }
+    }
+
+    private static void runDetection() {
+        lastInputsHash = 0;
+        lastClassification = null;
+
+        ClientFacade client = ClientFacade.get();
+        if (!client.isInWorld()) {
             reset();
             return;
         }
 
         // Check if we're on Hypixel
         boolean wasOnHypixel = isOnHypixel;
-        isOnHypixel = detectHypixelServer();
+        isOnHypixel = detectHypixelServer(client);
 
         if (!wasOnHypixel && isOnHypixel) {
             Scaleme.LOGGER.info("Detected Hypixel server - enabling game mode detection");
@@ -93,9 +107,10 @@ public class HypixelDetector {
         }
 
         if (isOnHypixel) {
-            detectGameMode();
+            detectGameMode(client);
         } else {
             isInCompetitiveGame = false;
+            isInSkyblock = false;
             currentGameMode = "";
             currentLocation = "";
         }
@@ -104,13 +119,11 @@ public class HypixelDetector {
     /**
      * Detects if the client is connected to a Hypixel server
      */
-    private static boolean detectHypixelServer() {
-        MinecraftClient client = MinecraftClient.getInstance();
-
-        // Check server info
-        ServerInfo serverInfo = client.getCurrentServerEntry();
-        if (serverInfo != null) {
-            String address = serverInfo.address.toLowerCase();
+    private static boolean detectHypixelServer(ClientFacade client) {
+        // Check server info (null for the integrated server, which is never Hypixel)
+        String serverAddress = client.getServerAddress();
+        if (serverAddress != null) {
+            String address = serverAddress.toLowerCase();
             for (String domain : HYPIXEL_DOMAINS) {
                 if (address.contains(domain)) {
                     return true;
@@ -118,24 +131,34 @@ public class HypixelDetector {
             }
         }
 
-        // Check integrated server (shouldn't be Hypixel, but just in case)
-        if (client.getServer() != null) {
-            return false;
-        }
-
         return false;
     }
 
     /**
-     * Detects the current game mode and location on Hypixel
+     * Outcome of classifying the scoreboard, tab list and location text.
+     */
+    public record Classification(String gameMode, boolean competitive, boolean skyblock) {
+    }
+
+    /**
+     * Classifies lower-cased combined scoreboard/tab list text and location.
+     * Pure string work, independent of the client state.
      */
-    private static void detectGameMode() {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.player == null) return;
+    public static Classification classify(String combinedInfo, String location) {
+        return new Classification(
+                extractGameMode(combinedInfo),
+                isCompetitiveMode(combinedInfo, location),
+                combinedInfo.contains("skyblock")
+        );
+    }
 
+    /**
+     * Detects the current game mode and location on Hypixel
+     */
+    private static void detectGameMode(ClientFacade client) {
         // Check scoreboard for game information
-        String gameInfo = getScoreboardGameInfo();
-        String tabListInfo = getTabListGameInfo();
+        String gameInfo = getScoreboardGameInfo(client);
+        String tabListInfo = getTabListGameInfo(client);
         String locationInfo = getLocationInfo();
 
         // Combine all sources of information
@@ -143,11 +166,15 @@ public class HypixelDetector {
 
         // Update current location and game mode
         currentLocation = locationInfo.toLowerCase();
-        currentGameMode = extractGameMode(combinedInfo);
+        Classification classification = classify(combinedInfo, currentLocation);
+        lastInputsHash = combinedInfo.hashCode();
+        lastClassification = classification;
+        currentGameMode = classification.gameMode();
+        isInSkyblock = classification.skyblock();
 
         // Determine if we're in a competitive game
         boolean wasInCompetitive = isInCompetitiveGame;
-        isInCompetitiveGame = isCompetitiveMode(combinedInfo, currentLocation);
+        isInCompetitiveGame = classification.competitive();
 
         // Log game mode changes
         if (!wasInCompetitive && isInCompetitiveGame) {
@@ -160,82 +187,24 @@ public class HypixelDetector {
     /**
      * Extracts game information from scoreboard
      */
-    private static String getScoreboardGameInfo() {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.world == null || client.world.getScoreboard() == null) {
-            return "";
-        }
-
+    private static String getScoreboardGameInfo(ClientFacade client) {
         try {
-            var scoreboard = client.world.getScoreboard();
-            // Use the correct ScoreboardDisplaySlot enum instead of int
-            var objective = scoreboard.getObjectiveForSlot(ScoreboardDisplaySlot.SIDEBAR);
-            if (objective != null) {
-                Text displayName = objective.getDisplayName();
-                if (displayName != null) {
-                    return displayName.getString();
-                }
-            }
+            return client.getSidebarTitle();
         } catch (Exception e) {
             // Ignore scoreboard reading errors
+            return "";
         }
-
-        return "";
     }
 
     /**
      * Extracts game information from tab list
      */
-    private static String getTabListGameInfo() {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.player == null || client.player.networkHandler == null) {
-            return "";
-        }
-
+    private static String getTabListGameInfo(ClientFacade client) {
         try {
-            var playerListHud = client.inGameHud.getPlayerListHud();
-            // Fixed: Use the correct getter methods
-            Text header = getTabListHeader(playerListHud);
-            Text footer = getTabListFooter(playerListHud);
-
-            String headerText = header != null ? header.getString() : "";
-            String footerText = footer != null ? footer.getString() : "";
-
-            return headerText + " " + footerText;
+            return client.getTabListHeader() + " " + client.getTabListFooter();
         } catch (Exception e) {
             // Ignore tab list reading errors
-        }
-
-        return "";
-    }
-
-    /**
-     * Helper method to safely get tab list header using reflection as fallback
-     */
-    private static Text getTabListHeader(net.minecraft.client.gui.hud.PlayerListHud playerListHud) {
-        try {
-            // Try to use reflection to access the header field
-            var headerField = playerListHud.getClass().getDeclaredField("header");
-            headerField.setAccessible(true);
-            return (Text) headerField.get(playerListHud);
-        } catch (Exception e) {
-            // If reflection fails, return null
-            return null;
-        }
-    }
-
-    /**
-     * Helper method to safely get tab list footer using reflection as fallback
-     */
-    private static Text getTabListFooter(net.minecraft.client.gui.hud.PlayerListHud playerListHud) {
-        try {
-            // Try to use reflection to access the footer field
-            var footerField = playerListHud.getClass().getDeclaredField("footer");
-            footerField.setAccessible(true);
-            return (Text) footerField.get(playerListHud);
-        } catch (Exception e) {
-            // If reflection fails, return null
-            return null;
+            return "";
         }
     }
 
@@ -308,6 +277,7 @@ public class HypixelDetector {
     private static void reset() {
         isOnHypixel = false;
         isInCompetitiveGame = false;
+        isInSkyblock = false;
         currentGameMode = "";
         currentLocation = "";
     }
@@ -321,6 +291,10 @@ public class HypixelDetector {
         return isInCompetitiveGame;
     }
 
+    public static boolean isInSkyblock() {
+        return isInSkyblock;
+    }
+
     public static boolean isScalingAllowed() {
         return !isOnHypixel || !isInCompetitiveGame;
     }
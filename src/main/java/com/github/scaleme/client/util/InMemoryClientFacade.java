@@ -0,0 +1,114 @@
+package com.github.scaleme.client.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mutable {@link ClientFacade} stand-in for running the scaling and detection code
+ * without a game, e.g. synthetic sessions with thousands of players.
+ */
+public class InMemoryClientFacade implements ClientFacade {
+    // Loaded players and their squared distance to the local player
+    private final Map<UUID, Double> worldPlayers = new LinkedHashMap<>();
+    private UUID localPlayerUUID;
+    private String serverAddress;
+    private String sidebarTitle = "";
+    private String tabListHeader = "";
+    private String tabListFooter = "";
+
+    /**
+     * Joins a world as the given local player.
+     */
+    public InMemoryClientFacade joinWorld(UUID localPlayerUUID) {
+        this.localPlayerUUID = localPlayerUUID;
+        worldPlayers.put(localPlayerUUID, 0.0);
+        return this;
+    }
+
+    public InMemoryClientFacade leaveWorld() {
+        localPlayerUUID = null;
+        worldPlayers.clear();
+        return this;
+    }
+
+    public InMemoryClientFacade addPlayer(UUID playerUUID) {
+        return addPlayer(playerUUID, 0.0);
+    }
+
+    public InMemoryClientFacade addPlayer(UUID playerUUID, double distance) {
+        worldPlayers.put(playerUUID, distance * distance);
+        return this;
+    }
+
+    public InMemoryClientFacade removePlayer(UUID playerUUID) {
+        worldPlayers.remove(playerUUID);
+        return this;
+    }
+
+    public InMemoryClientFacade setServerAddress(String serverAddress) {
+        this.serverAddress = serverAddress;
+        return this;
+    }
+
+    public InMemoryClientFacade setSidebarTitle(String sidebarTitle) {
+        this.sidebarTitle = sidebarTitle != null ? sidebarTitle : "";
+        return this;
+    }
+
+    public InMemoryClientFacade setTabList(String header, String footer) {
+        this.tabListHeader = header != null ? header : "";
+        this.tabListFooter = footer != null ? footer : "";
+        return this;
+    }
+
+    @Override
+    public boolean isInWorld() {
+        return localPlayerUUID != null;
+    }
+
+    @Override
+    public UUID getLocalPlayerUUID() {
+        return localPlayerUUID;
+    }
+
+    @Override
+    public Collection<UUID> getWorldPlayerUUIDs() {
+        return Collections.unmodifiableSet(worldPlayers.keySet());
+    }
+
+    @Override
+    public void forEachWorldPlayer(PlayerVisitor visitor) {
+        for (Map.Entry<UUID, Double> player : worldPlayers.entrySet()) {
+            visitor.visit(player.getKey(), player.getValue());
+        }
+    }
+
+    @Override
+    public String getServerAddress() {
+        return serverAddress;
+    }
+
+    @Override
+    public String getSidebarTitle() {
+        return sidebarTitle;
+    }
+
+    @Override
+    public String getTabListHeader() {
+        return tabListHeader;
+    }
+
+    @Override
+    public String getTabListFooter() {
+        return tabListFooter;
+    }
+
+    // There is no separate client thread here, so tasks run right away
+    @Override
+    public void execute(Runnable task) {
+        task.run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.client.mixin.PlayerListHudAccessor;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.network.ServerInfo;
+import net.minecraft.scoreboard.ScoreboardDisplaySlot;
+import net.minecraft.scoreboard.ScoreboardObjective;
+import net.minecraft.text.Text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link ClientFacade} backed by the running {@link MinecraftClient}.
+ */
+public class MinecraftClientFacade implements ClientFacade {
+
+    @Override
+    public boolean isInWorld() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client.world != null && client.player != null;
+    }
+
+    @Override
+    public UUID getLocalPlayerUUID() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client.player != null ? client.player.getUuid() : null;
+    }
+
+    @Override
+    public Collection<UUID> getWorldPlayerUUIDs() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.world == null) {
+            return List.of();
+        }
+
+        List<UUID> players = new ArrayList<>();
+        for (AbstractClientPlayerEntity player : client.world.getPlayers()) {
+            players.add(player.getUuid());
+        }
+        return players;
+    }
+
+    @Override
+    public void forEachWorldPlayer(PlayerVisitor visitor) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.world == null || client.player == null) {
+            return;
+        }
+
+        for (AbstractClientPlayerEntity player : client.world.getPlayers()) {
+            visitor.visit(player.getUuid(), player.squaredDistanceTo(client.player));
+        }
+    }
+
+    @Override
+    public String getServerAddress() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        // The integrated server is never a remote network
+        if (client.getServer() != null) {
+            return null;
+        }
+        ServerInfo serverInfo = client.getCurrentServerEntry();
+        return serverInfo != null ? serverInfo.address : null;
+    }
+
+    @Override
+    public String getSidebarTitle() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.world == null) {
+            return "";
+        }
+        ScoreboardObjective objective = client.world.getScoreboard().getObjectiveForSlot(ScoreboardDisplaySlot.SIDEBAR);
+        return objective != null ? objective.getDisplayName().getString() : "";
+    }
+
+    @Override
+    public String getTabListHeader() {
+        return textOrEmpty(playerListHud() != null ? playerListHud().scaleme$getHeader() : null);
+    }
+
+    @Override
+    public String getTabListFooter() {
+        return textOrEmpty(playerListHud() != null ? playerListHud().scaleme$getFooter() : null);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        MinecraftClient.getInstance().execute(task);
+    }
+
+    private static PlayerListHudAccessor playerListHud() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return client.inGameHud != null ? (PlayerListHudAccessor) client.inGameHud.getPlayerListHud() : null;
+    }
+
+    private static String textOrEmpty(Text text) {
+        return text != null ? text.getString() : "";
+    }
+}
@@ -1,8 +0,0 @@
-package com.github.scaleme.client.util;
-
-import java.util.UUID;
-
-public interface PlayerEntityRenderStateAccessor {
-    void scaleme$setPlayerUUID(UUID uuid);
-    UUID scaleme$getPlayerUUID();
-}
\ No newline at end of file
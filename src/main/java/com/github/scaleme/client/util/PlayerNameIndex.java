@@ -0,0 +1,115 @@
+package com.github.scaleme.client.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bidirectional UUID <-> username map kept in sync with the server's player list, plus the
+ * tab-list display name servers set for decorated entries (e.g. "[NPC] Guard").
+ * Fed from player list packets on the client thread, so the render path never has
+ * to query the network handler. Usernames and display names are stored lower-cased.
+ */
+public class PlayerNameIndex {
+    private static final Map<UUID, String> namesByUUID = new ConcurrentHashMap<>();
+    private static final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
+    // Only players whose entry has a custom display name; plain text, no formatting codes
+    private static final Map<UUID, String> displayNamesByUUID = new ConcurrentHashMap<>();
+
+    /**
+     * Called when the server adds a player to the list, including re-adds after a rename.
+     */
+    public static void onPlayerAdded(UUID uuid, String name) {
+        if (uuid == null || name == null || name.isEmpty()) return;
+
+        String username = name.toLowerCase(Locale.ROOT);
+        String previous = namesByUUID.put(uuid, username);
+        if (username.equals(previous)) return;
+
+        if (previous != null) {
+            uuidsByName.remove(previous, uuid);
+        }
+        UUID displaced = uuidsByName.put(username, uuid);
+        if (displaced != null && !displaced.equals(uuid)) {
+            // Another entry still claimed this name, it is stale now
+            namesByUUID.remove(displaced, username);
+            TeamIndex.onPlayerUnlisted(displaced);
+            PlayerPresetManager.onPlayerNameChanged(displaced, username, null);
+        }
+
+        TeamIndex.onPlayerListed(uuid, username);
+        PlayerPresetManager.onPlayerNameChanged(uuid, previous, username);
+    }
+
+    /**
+     * Called when the server sets or clears (null) the tab-list display name of an entry.
+     */
+    public static void onDisplayNameChanged(UUID uuid, String displayName) {
+        if (uuid == null) return;
+
+        String normalized = normalizeDisplayName(displayName);
+        String previous = normalized != null ? displayNamesByUUID.put(uuid, normalized) : displayNamesByUUID.remove(uuid);
+        if (Objects.equals(previous, normalized)) return;
+
+        PlayerPresetManager.onPlayerDisplayNameChanged(uuid);
+    }
+
+    /**
+     * Plain, lower-cased form patterns are matched against: legacy formatting codes
+     * removed and surrounding whitespace trimmed. Null when nothing is left.
+     */
+    static String normalizeDisplayName(String displayName) {
+        if (displayName == null) return null;
+
+        StringBuilder plain = new StringBuilder(displayName.length());
+        for (int i = 0; i < displayName.length(); i++) {
+            char c = displayName.charAt(i);
+            if (c == '\u00a7') {
+                // Section sign plus its code character
+                i++;
+            } else {
+                plain.append(c);
+            }
+        }
+        String trimmed = plain.toString().trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Called when the server removes a player from the list.
+     */
+    public static void onPlayerRemoved(UUID uuid) {
+        displayNamesByUUID.remove(uuid);
+        String username = namesByUUID.remove(uuid);
+        if (username == null) return;
+
+        uuidsByName.remove(username, uuid);
+        TeamIndex.onPlayerUnlisted(uuid);
+        PlayerPresetManager.onPlayerNameChanged(uuid, username, null);
+    }
+
+    public static String getName(UUID uuid) {
+        return namesByUUID.get(uuid);
+    }
+
+    public static String getDisplayName(UUID uuid) {
+        return displayNamesByUUID.get(uuid);
+    }
+
+    public static UUID getUUID(String username) {
+        return uuidsByName.get(username.toLowerCase(Locale.ROOT));
+    }
+
+    public static int size() {
+        return namesByUUID.size();
+    }
+
+    public static void clear() {
+        namesByUUID.clear();
+        uuidsByName.clear();
+        displayNamesByUUID.clear();
+        PlayerPresetManager.clearResolvedPresets();
+    }
+}
@@ -2,30 +2,87 @@ package com.github.scaleme.client.util;
 
 import com.github.scaleme.Scaleme;
 import com.github.scaleme.client.data.PlayerPreset;
-import com.github.scaleme.config.ScaleMeConfig;
+import com.github.scaleme.client.jfr.ScaleJfr;
+import com.github.scaleme.config.ScaleSettings;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.network.PlayerListEntry;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class PlayerPresetManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
-    private static final Map<String, PlayerPreset> presetsByUUID = new ConcurrentHashMap<>();
+    private static final Map<UUID, PlayerPreset> presetsByUUID = new ConcurrentHashMap<>();
     private static final Map<String, PlayerPreset> presetsByUsername = new ConcurrentHashMap<>();
-    private static final Map<String, String> uuidToUsernameCache = new ConcurrentHashMap<>();
+    // Username presets resolved to the UUID of the listed player with that name
+    private static final Map<UUID, PlayerPreset> presetsByResolvedUUID = new ConcurrentHashMap<>();
+    // Pattern presets in file order, which is also their match priority
+    private static final Map<String, PlayerPreset> presetsByPattern = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static volatile PresetPatternMatcher patternMatcher = PresetPatternMatcher.EMPTY;
+    // Memoized pattern result per player, NO_PATTERN_MATCH when nothing matched
+    private static final Map<UUID, PlayerPreset> patternMatchesByUUID = new ConcurrentHashMap<>();
+    private static final PlayerPreset NO_PATTERN_MATCH = new PlayerPreset("", null, 1.0f, false, null);
+    // Team presets keyed by lower-cased team name, matched through TeamIndex
+    private static final Map<String, PlayerPreset> presetsByTeam = new ConcurrentHashMap<>();
     private static final Set<String> availableCategories = new LinkedHashSet<>();
+    // Category key -> member presets, so a multiplier change only revisits its own presets
+    private static final Map<String, Set<PlayerPreset>> presetsByCategory = new ConcurrentHashMap<>();
+    // Category key -> scale multiplier; categories without an entry use 1.0
+    private static final Map<String, Float> categoryMultipliers = new ConcurrentHashMap<>();
     private static File configFile;
+    private static File categoryFile;
+    // Saves run on a background thread; bursts of edits within the delay become one write
+    private static final long SAVE_DELAY_MILLIS = 500;
+    private static BackgroundFileWriter presetWriter;
+    private static BackgroundFileWriter categoryWriter;
+    // Single edits are appended here and folded into configFile by the next full write
+    private static PresetJournal journal;
+    // Binary copy of the last full save, loaded instead of the JSON while it is up to date
+    private static Path snapshotFile;
+    // Picks up edits made to configFile by other programs
+    private static PresetFileWatcher watcher;
+    // Presets of the write in progress and the last journal record they include;
+    // only touched by the writer while it holds its lock
+    private static List<PlayerPreset> lastWrittenPresets = List.of();
+    private static long lastWrittenJournalMark = 0;
+
+    // Bumped on every change to the preset set; compiled scale rules are tied to it
+    private static volatile long epoch = 0;
+
+    // False until the background load is published; edits made before that are kept here
+    private static volatile boolean loaded = false;
+    private static final List<PresetJournal.Entry> pendingEdits = new ArrayList<>();
+    // Category key -> multiplier, and category names, set before the load was published
+    private static final Map<String, Float> pendingMultipliers = new LinkedHashMap<>();
+    private static final List<String> pendingCategories = new ArrayList<>();
+
+    // Numbers every recorded edit, so a reload can re-apply the ones made after it began reading
+    private static volatile long editSequence = 0;
+    // Reloads read but not applied yet; edits are only kept for them while there is one
+    private static final AtomicInteger reloadsInFlight = new AtomicInteger();
+    private static final List<SequencedEdit> editsDuringReload = new ArrayList<>();
+    // A full write skipped so it would not overwrite an external change that isn't merged yet
+    private static final AtomicBoolean writeDeferred = new AtomicBoolean();
+
+    private record SequencedEdit(long sequence, PresetJournal.Entry entry) {
+    }
 
     // Default categories
     public static final List<String> DEFAULT_CATEGORIES = Arrays.asList(
@@ -34,149 +91,786 @@ public class PlayerPresetManager {
 
     public static void init() {
         configFile = new File(FabricLoader.getInstance().getConfigDir().toFile(), "scaleme_presets.json");
-        loadPresets();
+        categoryFile = new File(FabricLoader.getInstance().getConfigDir().toFile(), "scaleme_categories.json");
+        presetWriter = new BackgroundFileWriter(configFile.toPath(), SAVE_DELAY_MILLIS,
+                PlayerPresetManager::writePresets, PlayerPresetManager::onPresetsWritten,
+                PlayerPresetManager::readyToWritePresets);
+        categoryWriter = new BackgroundFileWriter(categoryFile.toPath(), SAVE_DELAY_MILLIS,
+                PlayerPresetManager::writeCategoryMultipliers, null);
+        journal = new PresetJournal(new File(configFile.getParentFile(), "scaleme_presets.journal").toPath(),
+                PlayerPresetManager::savePresets);
+        snapshotFile = new File(configFile.getParentFile(), "scaleme_presets.bin").toPath();
+        watcher = new PresetFileWatcher(configFile.toPath(), PlayerPresetManager::reloadInBackground);
 
         // Initialize default categories
         availableCategories.addAll(DEFAULT_CATEGORIES);
 
-        // Create default examples if file doesn't exist
+        // Files are read on the writer thread while the game finishes loading; until the
+        // result is published every player simply gets the global scales
+        BackgroundFileWriter.execute(PlayerPresetManager::loadInBackground);
+    }
+
+    public static boolean isLoaded() {
+        return loaded;
+    }
+
+    private static void loadInBackground() {
+        Map<String, Float> multipliers = readCategoryMultipliers();
+
+        // Create default examples if file doesn't exist; disabled, so they only show the
+        // format and never rescale a real player until the user turns them on
         if (!configFile.exists()) {
-            createDefaultPresets();
+            List<PlayerPreset> defaultPresets = Arrays.asList(
+                    new PlayerPreset("example_uuid_here", "Guild Leader", 1.5f, false, "guild"),
+                    new PlayerPreset("another_example_uuid", "Best Friend", 2.0f, false, "friends"),
+                    new PlayerPreset("Notch", "", 1.2f, false, "special")
+            );
+            ClientFacade.get().execute(() -> {
+                publish(defaultPresets, multipliers);
+                savePresets();
+                Scaleme.LOGGER.info("Created default player presets file with examples");
+            });
+            return;
         }
+
+        // Before reading, so a change made while loading still counts as external
+        watcher.markRead();
+        List<PlayerPreset> presets = readPresets();
+        ClientFacade.get().execute(() -> publish(presets, multipliers));
     }
 
-    private static void createDefaultPresets() {
-        List<PlayerPreset> defaultPresets = Arrays.asList(
-                new PlayerPreset("example_uuid_here", "Guild Leader", 1.5f, "guild"),
-                new PlayerPreset("another_example_uuid", "Best Friend", 2.0f, "friends"),
-                new PlayerPreset("Notch", "", 1.2f, "special")
-        );
+    /**
+     * Swaps the loaded presets in on the client thread, so lookups never see a half-built index.
+     */
+    private static void publish(List<PlayerPreset> presets, Map<String, Float> multipliers) {
+        // Edits made while the files were being read go on top of what was read
+        if (!pendingEdits.isEmpty()) {
+            presets = applyEntries(presets, pendingEdits);
+            pendingEdits.clear();
+        }
 
-        savePresets(defaultPresets);
-        Scaleme.LOGGER.info("Created default player presets file with examples");
+        categoryMultipliers.clear();
+        for (Map.Entry<String, Float> entry : multipliers.entrySet()) {
+            categoryMultipliers.put(PlayerPreset.categoryKey(entry.getKey()), entry.getValue());
+        }
+        // Same for category edits; applyPresets below re-decides everyone with them included
+        for (Map.Entry<String, Float> entry : pendingMultipliers.entrySet()) {
+            if (entry.getValue() == 1.0f) {
+                categoryMultipliers.remove(entry.getKey());
+            } else {
+                categoryMultipliers.put(entry.getKey(), entry.getValue());
+            }
+        }
+        applyPresets(presets);
+        for (String category : multipliers.keySet()) {
+            availableCategories.add(category.trim());
+        }
+        availableCategories.addAll(pendingCategories);
+        pendingCategories.clear();
+        loaded = true;
+
+        if (!pendingMultipliers.isEmpty()) {
+            pendingMultipliers.clear();
+            categoryWriter.requestWrite();
+        }
+
+        // Fold a replayed journal into the main file so the next start reads a single file again
+        if (journal.size() > 0) {
+            savePresets();
+        }
+        watcher.start();
     }
 
-    public static void loadPresets() {
-        if (!configFile.exists()) return;
+    /**
+     * Re-reads the JSON file after another program changed it. Runs on the writer thread;
+     * the result is merged into the index on the client thread. Full writes wait until then.
+     */
+    private static void reloadInBackground() {
+        if (!loaded) return;
+
+        reloadsInFlight.incrementAndGet();
+        // Edits numbered up to here were appended before this read, so the journal holds them
+        long sequence = editSequence;
+        journal.flush();
+
+        // Stamped before reading, so a change made while reading leaves the snapshot stale
+        BinaryPresetStore.Source source = BinaryPresetStore.Source.of(configFile.toPath());
+        List<PlayerPreset> presets;
+        try {
+            presets = readJson(configFile);
+        } catch (IOException | RuntimeException e) {
+            Scaleme.LOGGER.warn("Ignoring unreadable change to {}: {}", configFile.getName(), e.toString());
+            ClientFacade.get().execute(PlayerPresetManager::finishReload);
+            return;
+        }
+        if (ScaleSettings.get().binaryPresetSnapshot()) {
+            writeSnapshot(source, presets);
+        }
+        List<PlayerPreset> reloaded = replayJournal(presets);
+        ClientFacade.get().execute(() -> applyReload(reloaded, sequence));
+    }
 
-        try (FileReader reader = new FileReader(configFile)) {
-            Type listType = new TypeToken<List<PlayerPreset>>(){}.getType();
-            List<PlayerPreset> presets = GSON.fromJson(reader, listType);
+    private static void applyReload(List<PlayerPreset> presets, long sequence) {
+        // Edits made in game after the read started are not in it, so the diff would revert them
+        List<PresetJournal.Entry> later = new ArrayList<>();
+        for (SequencedEdit edit : editsDuringReload) {
+            if (edit.sequence() > sequence) later.add(edit.entry());
+        }
+        mergeReload(later.isEmpty() ? presets : applyEntries(presets, later));
+        finishReload();
+    }
 
-            if (presets != null) {
-                presetsByUUID.clear();
-                presetsByUsername.clear();
-                availableCategories.clear();
-                availableCategories.addAll(DEFAULT_CATEGORIES);
-
-                for (PlayerPreset preset : presets) {
-                    if (preset.isUUID()) {
-                        presetsByUUID.put(preset.identifier.toLowerCase(), preset);
-                    } else {
-                        presetsByUsername.put(preset.identifier.toLowerCase(), preset);
-                    }
-
-                    // Collect categories
-                    if (preset.category != null && !preset.category.trim().isEmpty()) {
-                        availableCategories.add(preset.category.trim());
-                    }
+    private static void finishReload() {
+        if (reloadsInFlight.decrementAndGet() == 0) {
+            editsDuringReload.clear();
+        }
+        // Now the index holds the external change too, the skipped write can't lose it
+        if (writeDeferred.getAndSet(false)) {
+            savePresets();
+        }
+    }
+
+    /**
+     * Asked on the writer thread before each full write of the preset file.
+     */
+    private static boolean readyToWritePresets() {
+        if (reloadsInFlight.get() > 0) {
+            writeDeferred.set(true);
+            return false;
+        }
+        // Changed by another program and not reported by the watcher yet: merge it first
+        if (watcher.pollChange()) {
+            writeDeferred.set(true);
+            reloadInBackground();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Applies only the differences between the index and the reloaded presets, then
+     * re-decides just the players the changed presets can reach.
+     */
+    private static void mergeReload(List<PlayerPreset> presets) {
+        Map<String, PlayerPreset> current = new HashMap<>();
+        for (PlayerPreset preset : getAllPresets()) {
+            current.put(indexKey(preset), preset);
+        }
+        Map<String, PlayerPreset> reloaded = new LinkedHashMap<>();
+        for (PlayerPreset preset : presets) {
+            reloaded.put(indexKey(preset), preset);
+        }
+
+        boolean hadPatterns = hasPatternPresets();
+        boolean hadTeams = hasTeamPresets();
+        List<PlayerPreset> affected = new ArrayList<>();
+        int added = 0;
+        int removed = 0;
+        int changed = 0;
+
+        for (Map.Entry<String, PlayerPreset> entry : current.entrySet()) {
+            if (!reloaded.containsKey(entry.getKey())) {
+                unindexPreset(entry.getValue().identifier);
+                affected.add(entry.getValue());
+                removed++;
+            }
+        }
+        for (Map.Entry<String, PlayerPreset> entry : reloaded.entrySet()) {
+            PlayerPreset preset = entry.getValue();
+            PlayerPreset previous = current.get(entry.getKey());
+            if (previous != null && sameContent(previous, preset)) continue;
+
+            indexPreset(preset);
+            affected.add(preset);
+            if (previous == null) {
+                added++;
+            } else {
+                changed++;
+            }
+            if (preset.category != null && !preset.category.trim().isEmpty()) {
+                availableCategories.add(preset.category.trim());
+            }
+        }
+        if (affected.isEmpty()) return;
+
+        boolean patterns = false;
+        for (PlayerPreset preset : affected) {
+            patterns |= preset.isPattern();
+        }
+        List<UUID> patternPlayers = List.of();
+        if (patterns) {
+            // Keep file order, which is the pattern priority, then re-run only memoized players
+            patternPlayers = new ArrayList<>(patternMatchesByUUID.keySet());
+            synchronized (presetsByPattern) {
+                presetsByPattern.clear();
+                for (PlayerPreset preset : reloaded.values()) {
+                    if (preset.isPattern()) presetsByPattern.put(preset.getKey(), preset);
                 }
+            }
+            rebuildPatternMatcher();
+        }
 
-                Scaleme.LOGGER.info("Loaded {} player presets", presets.size());
+        if (hadPatterns != hasPatternPresets() || hadTeams != hasTeamPresets()) {
+            // The compiled rules gained or lost a stage, so they have to be rebuilt
+            epoch++;
+        } else {
+            for (PlayerPreset preset : affected) {
+                refreshReach(preset);
             }
-        } catch (IOException e) {
+            for (UUID playerUUID : patternPlayers) {
+                ScaleManager.refreshTarget(playerUUID);
+            }
+        }
+        Scaleme.LOGGER.info("Reloaded player presets: {} added, {} removed, {} changed", added, removed, changed);
+    }
+
+    private static boolean sameContent(PlayerPreset a, PlayerPreset b) {
+        return a.identifier.equals(b.identifier)
+                && Objects.equals(a.displayName, b.displayName)
+                && a.scale == b.scale
+                && a.enabled == b.enabled
+                && a.category.equals(b.category);
+    }
+
+    /**
+     * Reads the presets from the snapshot when it is current, otherwise from the JSON file,
+     * then replays the journal over them. Safe to call off the client thread.
+     */
+    private static List<PlayerPreset> readPresets() {
+        long start = System.nanoTime();
+        if (ScaleSettings.get().binaryPresetSnapshot()) {
+            List<PlayerPreset> presets = BinaryPresetStore.read(snapshotFile, configFile.toPath());
+            if (presets != null) {
+                Scaleme.LOGGER.info("Loaded {} player presets from snapshot", presets.size());
+                if (ScaleJfr.isEnabled()) {
+                    ScaleJfr.presetIo("load", snapshotFile.getFileName().toString(), snapshotFile.toFile().length(),
+                            presets.size(), System.nanoTime() - start);
+                }
+                return replayJournal(presets);
+            }
+        }
+
+        BinaryPresetStore.Source source = BinaryPresetStore.Source.of(configFile.toPath());
+        List<PlayerPreset> presets;
+        try {
+            presets = readJson(configFile);
+        } catch (IOException | RuntimeException e) {
             Scaleme.LOGGER.error("Failed to load player presets", e);
+            // The next save would replace the file, so keep the unreadable one around
+            try {
+                Files.copy(configFile.toPath(), configFile.toPath().resolveSibling(configFile.getName() + ".broken"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException copyError) {
+                Scaleme.LOGGER.error("Failed to back up unreadable player presets", copyError);
+            }
+            return new ArrayList<>();
         }
+        Scaleme.LOGGER.info("Loaded {} player presets", presets.size());
+        if (ScaleJfr.isEnabled()) {
+            ScaleJfr.presetIo("load", configFile.getName(), configFile.length(), presets.size(), System.nanoTime() - start);
+        }
+        if (ScaleSettings.get().binaryPresetSnapshot()) {
+            writeSnapshot(source, presets);
+        }
+        return replayJournal(presets);
     }
 
-    public static void savePresets(List<PlayerPreset> presets) {
-        try (FileWriter writer = new FileWriter(configFile)) {
-            GSON.toJson(presets, writer);
-            Scaleme.LOGGER.info("Saved {} player presets", presets.size());
+    /**
+     * Streams the preset array one element at a time instead of binding the whole document.
+     */
+    private static List<PlayerPreset> readJson(File file) throws IOException {
+        TypeAdapter<PlayerPreset> adapter = GSON.getAdapter(PlayerPreset.class);
+        List<PlayerPreset> presets = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(file)))) {
+            // An empty or null document means no presets, as it did with Gson.fromJson
+            if (file.length() == 0 || reader.peek() == JsonToken.NULL) return presets;
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                PlayerPreset preset = adapter.read(reader);
+                if (preset != null) presets.add(preset);
+            }
+            reader.endArray();
+        }
+        return presets;
+    }
+
+    /**
+     * Applies the journaled edits on top of the presets read from disk.
+     */
+    private static List<PlayerPreset> replayJournal(List<PlayerPreset> presets) {
+        List<PresetJournal.Entry> entries = journal.read();
+        if (entries.isEmpty()) return presets;
+
+        Scaleme.LOGGER.info("Replayed {} preset journal records", entries.size());
+        return applyEntries(presets, entries);
+    }
+
+    private static List<PlayerPreset> applyEntries(List<PlayerPreset> presets, List<PresetJournal.Entry> entries) {
+        // Keyed like the indexes, so a replaced pattern keeps its place (and priority) in the list
+        Map<String, PlayerPreset> merged = new LinkedHashMap<>();
+        for (PlayerPreset preset : presets) {
+            if (preset != null) merged.put(indexKey(preset), preset);
+        }
+        for (PresetJournal.Entry entry : entries) {
+            if (entry.preset() != null) {
+                merged.put(indexKey(entry.preset()), entry.preset());
+            } else {
+                merged.remove(indexKey(new PlayerPreset(entry.identifier(), null, 1.0f, null)));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    // Missing or stale snapshot: rebuild it so the next start can skip the JSON
+    private static void writeSnapshot(BinaryPresetStore.Source source, List<PlayerPreset> presets) {
+        if (source == null) return;
+        try {
+            BinaryPresetStore.write(snapshotFile, source, presets);
         } catch (IOException e) {
-            Scaleme.LOGGER.error("Failed to save player presets", e);
+            Scaleme.LOGGER.error("Failed to write binary preset snapshot", e);
         }
     }
 
+    // Identity of a preset within the indexes: two presets with the same key replace each other
+    private static String indexKey(PlayerPreset preset) {
+        if (preset.isTeam()) return PlayerPreset.TEAM_PREFIX + preset.getTeam();
+        if (preset.isUUID()) return preset.getUUID().toString();
+        return preset.getKey();
+    }
+
+    /**
+     * Replaces every index with the given presets without writing them to disk.
+     */
+    public static void applyPresets(List<PlayerPreset> presets) {
+        presetsByUUID.clear();
+        presetsByUsername.clear();
+        presetsByResolvedUUID.clear();
+        presetsByPattern.clear();
+        presetsByTeam.clear();
+        presetsByCategory.clear();
+        availableCategories.clear();
+        availableCategories.addAll(DEFAULT_CATEGORIES);
+
+        for (PlayerPreset preset : presets) {
+            if (preset == null) continue;
+            indexPreset(preset);
+
+            // Collect categories
+            if (preset.category != null && !preset.category.trim().isEmpty()) {
+                availableCategories.add(preset.category.trim());
+            }
+        }
+
+        rebuildPatternMatcher();
+        epoch++;
+    }
+
+    /**
+     * Queues a background rewrite of the full preset file, which also compacts the journal.
+     * Ignored until the load is published: the index would not hold everything yet.
+     */
+    public static void savePresets() {
+        if (!loaded) return;
+        presetWriter.requestWrite();
+    }
+
+    /**
+     * Writes any queued preset or category changes immediately. Called when the client stops.
+     */
+    public static void flush() {
+        // Journal first: a pending full write then drops the records it folded in
+        if (journal != null) journal.flush();
+        if (presetWriter != null) presetWriter.flush();
+        if (categoryWriter != null) categoryWriter.flush();
+    }
+
+    private static int writePresets(Writer writer) {
+        // Marked first: an edit journaled by now was indexed before the snapshot below
+        lastWrittenJournalMark = journal.mark();
+        List<PlayerPreset> presets = getAllPresets();
+        GSON.toJson(presets, writer);
+        lastWrittenPresets = presets;
+        return presets.size();
+    }
+
+    private static void onPresetsWritten(Path target, int count, long checksum, long nanos) {
+        // Records appended while this write ran are not in the file, so they stay
+        journal.dropThrough(lastWrittenJournalMark);
+        watcher.markOwnWrite(checksum);
+
+        // Stamped with the file just written, so the next start can tell it is current
+        if (ScaleSettings.get().binaryPresetSnapshot()) {
+            writeSnapshot(BinaryPresetStore.Source.of(target), lastWrittenPresets);
+        }
+        lastWrittenPresets = List.of();
+        ScaleMetrics.PRESET_SAVE_NANOS.record(nanos);
+        Scaleme.LOGGER.info("Saved {} player presets", count);
+        if (ScaleJfr.isEnabled()) {
+            ScaleJfr.presetIo("save", target.getFileName().toString(), target.toFile().length(), count, nanos);
+        }
+    }
+
+    private static Map<String, Float> readCategoryMultipliers() {
+        Map<String, Float> result = new LinkedHashMap<>();
+        if (!categoryFile.exists()) return result;
+
+        try (FileReader reader = new FileReader(categoryFile)) {
+            Type mapType = new TypeToken<Map<String, Float>>(){}.getType();
+            Map<String, Float> multipliers = GSON.fromJson(reader, mapType);
+
+            if (multipliers != null) {
+                for (Map.Entry<String, Float> entry : multipliers.entrySet()) {
+                    if (entry.getKey() == null || entry.getValue() == null) continue;
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Scaleme.LOGGER.error("Failed to load category multipliers", e);
+        }
+        return result;
+    }
+
+    private static int writeCategoryMultipliers(Writer writer) {
+        Map<String, Float> multipliers = new TreeMap<>(categoryMultipliers);
+        GSON.toJson(multipliers, writer);
+        return multipliers.size();
+    }
+
+    public static float getCategoryMultiplier(String category) {
+        return categoryMultipliers.getOrDefault(PlayerPreset.categoryKey(category), 1.0f);
+    }
+
+    /**
+     * Scale a preset applies once its category multiplier is taken into account, kept in the
+     * same 0.1x to 3.0x range as every other scale. Used by the compiled {@link ScaleRules}.
+     */
+    public static float getEffectiveScale(PlayerPreset preset) {
+        Float multiplier = categoryMultipliers.get(preset.getCategoryKey());
+        if (multiplier == null) return preset.scale;
+        // A 3.0x preset in a 3.0x category would otherwise render at 9x
+        return Math.max(0.1f, Math.min(3.0f, preset.scale * multiplier));
+    }
+
+    /**
+     * Sets the multiplier applied to every preset in a category. Only the players those
+     * presets can reach are re-decided, found through the category index; a multiplier of
+     * 1.0 removes the entry.
+     */
+    public static void setCategoryMultiplier(String category, float multiplier) {
+        if (category == null || category.trim().isEmpty()) return;
+
+        String key = PlayerPreset.categoryKey(category);
+        Float previous = multiplier == 1.0f ? categoryMultipliers.remove(key) : categoryMultipliers.put(key, multiplier);
+        availableCategories.add(category.trim());
+        if (!loaded) {
+            // The file's multipliers aren't in yet: writing now would drop them, and
+            // publishing would drop this change
+            pendingMultipliers.put(key, multiplier);
+            pendingCategories.add(category.trim());
+            return;
+        }
+        if (previous == null ? multiplier == 1.0f : previous == multiplier) return;
+
+        refreshCategory(key);
+        categoryWriter.requestWrite();
+    }
+
+    private static void refreshCategory(String key) {
+        Set<PlayerPreset> members = presetsByCategory.get(key);
+        if (members == null) return;
+
+        boolean hasPatterns = false;
+        for (PlayerPreset preset : members) {
+            hasPatterns |= refreshReach(preset);
+        }
+
+        // Pattern presets reach only the players they were memoized for
+        if (hasPatterns) {
+            for (Map.Entry<UUID, PlayerPreset> entry : patternMatchesByUUID.entrySet()) {
+                if (entry.getValue() != NO_PATTERN_MATCH && entry.getValue().getCategoryKey().equals(key)) {
+                    ScaleManager.refreshTarget(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-decides the players a preset applies to. Pattern presets return true instead:
+     * their players are only known through the pattern memo.
+     */
+    private static boolean refreshReach(PlayerPreset preset) {
+        if (preset.isTeam()) {
+            for (String member : TeamIndex.getMembers(preset.getTeam())) {
+                refreshListed(PlayerNameIndex.getUUID(member));
+            }
+        } else if (preset.isPattern()) {
+            return true;
+        } else if (preset.isUUID()) {
+            ScaleManager.refreshTarget(preset.getUUID());
+        } else {
+            refreshListed(PlayerNameIndex.getUUID(preset.getKey()));
+        }
+        return false;
+    }
+
+    private static void refreshListed(UUID playerUUID) {
+        if (playerUUID != null) {
+            ScaleManager.refreshTarget(playerUUID);
+        }
+    }
+
+    public static long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the preset that applies to a player, in the same priority order as {@link ScaleRules}.
+     */
     public static PlayerPreset getPresetForPlayer(UUID playerUUID) {
-        if (!ScaleMeConfig.enablePlayerPresets) return null;
+        if (!ScaleSettings.get().enablePlayerPresets()) return null;
 
-        String uuidString = playerUUID.toString();
+        PlayerPreset preset = getExplicitPreset(playerUUID);
+        if (preset == null) preset = getPatternPreset(playerUUID);
+        if (preset == null) preset = getTeamPreset(playerUUID);
+        return preset;
+    }
 
+    /**
+     * Enabled UUID preset, or username preset resolved when the player was listed.
+     */
+    public static PlayerPreset getExplicitPreset(UUID playerUUID) {
         // Check UUID-based presets first
-        PlayerPreset preset = presetsByUUID.get(uuidString.toLowerCase());
+        PlayerPreset preset = presetsByUUID.get(playerUUID);
         if (preset != null && preset.enabled) {
             return preset;
         }
 
-        // Check username-based presets
-        String username = getPlayerName(playerUUID);
-        if (username != null) {
-            preset = presetsByUsername.get(username.toLowerCase());
-            if (preset != null && preset.enabled) {
-                return preset;
-            }
+        // Check username-based presets, resolved when the player was listed
+        preset = presetsByResolvedUUID.get(playerUUID);
+        if (preset != null && preset.enabled) {
+            return preset;
         }
 
         return null;
     }
 
-    private static String getPlayerName(UUID playerUUID) {
-        // Check cache first
-        String cached = uuidToUsernameCache.get(playerUUID.toString());
-        if (cached != null) return cached;
+    public static boolean hasPatternPresets() {
+        return !patternMatcher.isEmpty();
+    }
+
+    public static boolean hasTeamPresets() {
+        return !presetsByTeam.isEmpty();
+    }
+
+    /**
+     * Enabled preset for the scoreboard team the player is on.
+     */
+    public static PlayerPreset getTeamPreset(UUID playerUUID) {
+        if (presetsByTeam.isEmpty()) return null;
+
+        String team = TeamIndex.getTeam(playerUUID);
+        if (team == null) return null;
+
+        PlayerPreset preset = presetsByTeam.get(team);
+        return preset != null && preset.enabled ? preset : null;
+    }
 
-        // Get from player list
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.getNetworkHandler() != null) {
-            PlayerListEntry entry = client.getNetworkHandler().getPlayerListEntry(playerUUID);
-            if (entry != null && entry.getProfile().getName() != null) {
-                String username = entry.getProfile().getName();
-                uuidToUsernameCache.put(playerUUID.toString(), username);
-                return username;
+    /**
+     * Matches the player's listed name, then its tab-list display name if the server set one,
+     * against the compiled patterns once, and serves the memoized result until the pattern
+     * set or either name changes.
+     */
+    public static PlayerPreset getPatternPreset(UUID playerUUID) {
+        if (patternMatcher.isEmpty()) return null;
+
+        PlayerPreset cached = patternMatchesByUUID.get(playerUUID);
+        if (cached == null) {
+            String username = PlayerNameIndex.getName(playerUUID);
+            if (username == null) {
+                // Not listed yet, onPlayerNameChanged refreshes the player once it is
+                return null;
+            }
+            PlayerPreset match = patternMatcher.match(username);
+            if (match == null) {
+                // Usernames are [a-z0-9_] only; tags like "[NPC]" live in the display name
+                match = patternMatcher.match(PlayerNameIndex.getDisplayName(playerUUID));
             }
+            cached = match != null ? match : NO_PATTERN_MATCH;
+            patternMatchesByUUID.put(playerUUID, cached);
         }
+        return cached == NO_PATTERN_MATCH ? null : cached;
+    }
 
-        return null;
+    private static void rebuildPatternMatcher() {
+        List<PlayerPreset> enabledPatterns = new ArrayList<>();
+        synchronized (presetsByPattern) {
+            for (PlayerPreset preset : presetsByPattern.values()) {
+                if (preset.enabled) enabledPatterns.add(preset);
+            }
+        }
+        PresetPatternMatcher matcher = PresetPatternMatcher.EMPTY;
+        if (!enabledPatterns.isEmpty()) {
+            try {
+                matcher = new PresetPatternMatcher(enabledPatterns);
+            } catch (RuntimeException e) {
+                // Never let a bad rule abort publishing or saving the rest of the presets
+                Scaleme.LOGGER.error("Failed to compile pattern presets, pattern matching disabled", e);
+            }
+        }
+        patternMatcher = matcher;
+        patternMatchesByUUID.clear();
     }
 
-    public static void addPreset(PlayerPreset preset) {
-        if (preset.isUUID()) {
-            presetsByUUID.put(preset.identifier.toLowerCase(), preset);
+    /**
+     * Re-resolves username presets for a player whose listed name changed.
+     * A null name means the player left the player list.
+     */
+    public static void onPlayerNameChanged(UUID playerUUID, String oldName, String newName) {
+        PlayerPreset preset = newName != null ? presetsByUsername.get(newName) : null;
+        if (preset != null) {
+            presetsByResolvedUUID.put(playerUUID, preset);
         } else {
-            presetsByUsername.put(preset.identifier.toLowerCase(), preset);
+            presetsByResolvedUUID.remove(playerUUID);
+        }
+        patternMatchesByUUID.remove(playerUUID);
+        ScaleManager.refreshTarget(playerUUID);
+    }
+
+    /**
+     * Re-runs the pattern presets for a player whose tab-list display name changed.
+     */
+    public static void onPlayerDisplayNameChanged(UUID playerUUID) {
+        if (patternMatcher.isEmpty()) return;
+
+        patternMatchesByUUID.remove(playerUUID);
+        ScaleManager.refreshTarget(playerUUID);
+    }
+
+    public static void clearResolvedPresets() {
+        presetsByResolvedUUID.clear();
+        patternMatchesByUUID.clear();
+    }
+
+    private static void indexPreset(PlayerPreset preset) {
+        PlayerPreset replaced;
+        if (preset.isTeam()) {
+            replaced = presetsByTeam.put(preset.getTeam(), preset);
+        } else if (preset.isPattern()) {
+            replaced = presetsByPattern.put(preset.getKey(), preset);
+        } else if (preset.isUUID()) {
+            replaced = presetsByUUID.put(preset.getUUID(), preset);
+        } else {
+            replaced = presetsByUsername.put(preset.getKey(), preset);
+
+            UUID listed = PlayerNameIndex.getUUID(preset.getKey());
+            if (listed != null) {
+                presetsByResolvedUUID.put(listed, preset);
+            }
+        }
+
+        unindexCategory(replaced);
+        presetsByCategory.computeIfAbsent(preset.getCategoryKey(), c -> ConcurrentHashMap.newKeySet()).add(preset);
+    }
+
+    private static void unindexCategory(PlayerPreset preset) {
+        if (preset == null) return;
+
+        Set<PlayerPreset> members = presetsByCategory.get(preset.getCategoryKey());
+        if (members != null) {
+            members.remove(preset);
+        }
+    }
+
+    public static void addPreset(PlayerPreset preset) {
+        indexPreset(preset);
+        if (preset.isPattern()) {
+            rebuildPatternMatcher();
         }
 
         // Add category to available categories
         if (preset.category != null && !preset.category.trim().isEmpty()) {
             availableCategories.add(preset.category.trim());
         }
+        epoch++;
 
-        // Save to file
-        List<PlayerPreset> allPresets = new ArrayList<>();
-        allPresets.addAll(presetsByUUID.values());
-        allPresets.addAll(presetsByUsername.values());
-        savePresets(allPresets);
+        recordEdit(PresetJournal.Entry.put(preset));
     }
 
-    public static void removePreset(String identifier, boolean isUUID) {
-        if (isUUID) {
-            presetsByUUID.remove(identifier.toLowerCase());
-        } else {
-            presetsByUsername.remove(identifier.toLowerCase());
+    public static void removePreset(String identifier) {
+        PlayerPreset removed = unindexPreset(identifier);
+        if (removed != null && removed.isPattern()) {
+            rebuildPatternMatcher();
         }
+        epoch++;
 
-        // Save to file
-        List<PlayerPreset> allPresets = new ArrayList<>();
-        allPresets.addAll(presetsByUUID.values());
-        allPresets.addAll(presetsByUsername.values());
-        savePresets(allPresets);
+        recordEdit(PresetJournal.Entry.remove(identifier));
+    }
+
+    /**
+     * Replaces the preset stored under {@code oldIdentifier} (which may differ from the new
+     * preset's identifier) as a single change and a single save.
+     */
+    public static void replacePreset(String oldIdentifier, PlayerPreset preset) {
+        PlayerPreset removed = unindexPreset(oldIdentifier);
+        indexPreset(preset);
+        if (preset.isPattern() || (removed != null && removed.isPattern())) {
+            rebuildPatternMatcher();
+        }
+
+        if (preset.category != null && !preset.category.trim().isEmpty()) {
+            availableCategories.add(preset.category.trim());
+        }
+        epoch++;
+
+        recordEdit(PresetJournal.Entry.remove(oldIdentifier), PresetJournal.Entry.put(preset));
+    }
+
+    private static void recordEdit(PresetJournal.Entry... entries) {
+        if (!loaded) {
+            Collections.addAll(pendingEdits, entries);
+        }
+        journal.append(entries);
+
+        // Numbered after the append, so a reload that reads this number finds the edit journaled
+        long sequence = ++editSequence;
+        if (reloadsInFlight.get() > 0) {
+            for (PresetJournal.Entry entry : entries) {
+                editsDuringReload.add(new SequencedEdit(sequence, entry));
+            }
+        }
+    }
+
+    private static PlayerPreset unindexPreset(String identifier) {
+        // Classify the identifier the same way a preset would
+        PlayerPreset probe = new PlayerPreset(identifier, null, 1.0f, null);
+        PlayerPreset removed;
+        if (probe.isTeam()) {
+            removed = presetsByTeam.remove(probe.getTeam());
+        } else if (probe.isPattern()) {
+            removed = presetsByPattern.remove(probe.getKey());
+        } else if (probe.isUUID()) {
+            removed = presetsByUUID.remove(probe.getUUID());
+        } else {
+            removed = presetsByUsername.remove(probe.getKey());
+
+            UUID listed = PlayerNameIndex.getUUID(probe.getKey());
+            if (listed != null) {
+                presetsByResolvedUUID.remove(listed);
+            }
+        }
+        unindexCategory(removed);
+        return removed;
     }
 
     public static List<PlayerPreset> getAllPresets() {
         List<PlayerPreset> allPresets = new ArrayList<>();
         allPresets.addAll(presetsByUUID.values());
         allPresets.addAll(presetsByUsername.values());
+        synchronized (presetsByPattern) {
+            allPresets.addAll(presetsByPattern.values());
+        }
+        allPresets.addAll(presetsByTeam.values());
         return allPresets;
     }
 
@@ -230,11 +924,14 @@ public class PlayerPresetManager {
     public static void addCategory(String category) {
         if (category != null && !category.trim().isEmpty()) {
             availableCategories.add(category.trim());
+            if (!loaded) {
+                pendingCategories.add(category.trim());
+            }
         }
     }
 
     public static void clearCache() {
-        uuidToUsernameCache.clear();
+        PlayerNameIndex.clear();
     }
 
     public enum SortType {
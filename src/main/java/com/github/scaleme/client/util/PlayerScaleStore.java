@@ -0,0 +1,298 @@
+package com.github.scaleme.client.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Struct-of-arrays store for per-player scale animation.
+ * Slots are kept dense, and the players whose scale is still converging are kept in the
+ * prefix [0, activeCount), so a tick only walks that prefix as a branch-light loop over
+ * contiguous float arrays (which C2 can auto-vectorize). When nobody is changing size
+ * the active prefix is empty and advancing costs nothing.
+ * Not thread-safe: owned by the client thread.
+ */
+public final class PlayerScaleStore {
+    // Below this distance a scale snaps to its target, matching the old smoothing threshold
+    private static final float EPSILON = 0.001f;
+    private static final int EMPTY = -1;
+
+    private final int maxSize;
+
+    // Per-slot data, dense in [0, size)
+    private UUID[] uuids;
+    private float[] previous;
+    private float[] current;
+    private float[] target;
+    // Whether the target came from an explicit preset, read by the PRESETS_ONLY budget policy
+    private boolean[] explicit;
+    private int size;
+    private int activeCount;
+
+    // Open-addressed UUID -> slot index
+    private long[] keyMost;
+    private long[] keyLeast;
+    private int[] keySlot;
+    private int keyMask;
+
+    public PlayerScaleStore(int initialCapacity, int maxSize) {
+        this.maxSize = maxSize;
+        uuids = new UUID[initialCapacity];
+        previous = new float[initialCapacity];
+        current = new float[initialCapacity];
+        target = new float[initialCapacity];
+        explicit = new boolean[initialCapacity];
+        allocateIndex(indexSizeFor(initialCapacity));
+    }
+
+    private static int indexSizeFor(int slots) {
+        int capacity = 16;
+        while (capacity < slots * 2) capacity <<= 1;
+        return capacity;
+    }
+
+    private void allocateIndex(int capacity) {
+        keyMost = new long[capacity];
+        keyLeast = new long[capacity];
+        keySlot = new int[capacity];
+        Arrays.fill(keySlot, EMPTY);
+        keyMask = capacity - 1;
+    }
+
+    /**
+     * Returns the slot of the given player, or -1 when it is not tracked.
+     */
+    public int slotOf(long most, long least) {
+        int i = UuidFloatTable.slot(most, least, keyMask);
+        int slot;
+        while ((slot = keySlot[i]) != EMPTY) {
+            if (keyMost[i] == most && keyLeast[i] == least) {
+                return slot;
+            }
+            i = (i + 1) & keyMask;
+        }
+        return EMPTY;
+    }
+
+    public int slotOf(UUID uuid) {
+        return slotOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Starts tracking a player at a settled scale. Returns false when the store is full.
+     */
+    public boolean track(UUID uuid, float scale, boolean explicitPreset) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        if (slotOf(most, least) != EMPTY) return true;
+        if (size >= maxSize) return false;
+
+        if (size == uuids.length) {
+            int capacity = Math.min(maxSize, size << 1);
+            uuids = Arrays.copyOf(uuids, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            current = Arrays.copyOf(current, capacity);
+            target = Arrays.copyOf(target, capacity);
+            explicit = Arrays.copyOf(explicit, capacity);
+        }
+        if ((size + 1) * 2 > keySlot.length) {
+            rebuildIndex(keySlot.length << 1);
+        }
+
+        int slot = size++;
+        uuids[slot] = uuid;
+        previous[slot] = scale;
+        current[slot] = scale;
+        target[slot] = scale;
+        explicit[slot] = explicitPreset;
+        putIndex(most, least, slot);
+        return true;
+    }
+
+    /**
+     * Stops tracking a player. Returns false when it was not tracked.
+     */
+    public boolean untrack(UUID uuid) {
+        int slot = slotOf(uuid);
+        if (slot == EMPTY) return false;
+
+        // Keep the active prefix contiguous, then fill the hole with the last slot
+        if (slot < activeCount) {
+            swap(slot, --activeCount);
+            slot = activeCount;
+        }
+        swap(slot, --size);
+        removeIndex(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        uuids[size] = null;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(uuids, 0, size, null);
+        Arrays.fill(keySlot, EMPTY);
+        size = 0;
+        activeCount = 0;
+    }
+
+    /**
+     * Sets the scale a slot should converge to, activating it if it moved.
+     */
+    public void setTarget(int slot, float scale, boolean explicitPreset) {
+        explicit[slot] = explicitPreset;
+        if (target[slot] == scale) return;
+        target[slot] = scale;
+        if (slot >= activeCount) {
+            swap(slot, activeCount++);
+        }
+    }
+
+    /**
+     * Jumps a slot straight to its target; it leaves the active prefix on the next advance.
+     */
+    public void snap(int slot) {
+        previous[slot] = target[slot];
+        current[slot] = target[slot];
+    }
+
+    /**
+     * Advances every active slot by one tick. An alpha of 1 or more snaps straight to the target.
+     * Slots that settled during the previous tick leave the active prefix.
+     */
+    public void advance(float alpha) {
+        int n = activeCount;
+        float[] previous = this.previous;
+        float[] current = this.current;
+        float[] target = this.target;
+
+        if (alpha >= 1.0f) {
+            for (int i = 0; i < n; i++) {
+                previous[i] = current[i];
+                current[i] = target[i];
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                float from = current[i];
+                float difference = target[i] - from;
+                previous[i] = from;
+                current[i] = Math.abs(difference) > EPSILON ? from + difference * alpha : target[i];
+            }
+        }
+
+        // A slot is settled once a full tick went by without movement
+        for (int i = n - 1; i >= 0; i--) {
+            if (previous[i] == current[i]) {
+                swap(i, --activeCount);
+            }
+        }
+    }
+
+    public float interpolate(int slot, float delta) {
+        float from = previous[slot];
+        return from + (current[slot] - from) * delta;
+    }
+
+    public boolean isExplicit(int slot) {
+        return explicit[slot];
+    }
+
+    public UUID uuidAt(int slot) {
+        return uuids[slot];
+    }
+
+    public float targetAt(int slot) {
+        return target[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int activeCount() {
+        return activeCount;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private void swap(int a, int b) {
+        if (a == b) return;
+
+        UUID uuidA = uuids[a];
+        UUID uuidB = uuids[b];
+        uuids[a] = uuidB;
+        uuids[b] = uuidA;
+
+        float tmp = previous[a];
+        previous[a] = previous[b];
+        previous[b] = tmp;
+        tmp = current[a];
+        current[a] = current[b];
+        current[b] = tmp;
+        tmp = target[a];
+        target[a] = target[b];
+        target[b] = tmp;
+        boolean flag = explicit[a];
+        explicit[a] = explicit[b];
+        explicit[b] = flag;
+
+        updateIndex(uuidA, b);
+        updateIndex(uuidB, a);
+    }
+
+    private void updateIndex(UUID uuid, int slot) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        int i = UuidFloatTable.slot(most, least, keyMask);
+        while (keySlot[i] != EMPTY) {
+            if (keyMost[i] == most && keyLeast[i] == least) {
+                keySlot[i] = slot;
+                return;
+            }
+            i = (i + 1) & keyMask;
+        }
+    }
+
+    private void putIndex(long most, long least, int slot) {
+        int i = UuidFloatTable.slot(most, least, keyMask);
+        while (keySlot[i] != EMPTY) {
+            i = (i + 1) & keyMask;
+        }
+        keyMost[i] = most;
+        keyLeast[i] = least;
+        keySlot[i] = slot;
+    }
+
+    private void removeIndex(long most, long least) {
+        int i = UuidFloatTable.slot(most, least, keyMask);
+        while (keySlot[i] != EMPTY) {
+            if (keyMost[i] == most && keyLeast[i] == least) break;
+            i = (i + 1) & keyMask;
+        }
+        if (keySlot[i] == EMPTY) return;
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & keyMask;
+            if (keySlot[j] == EMPTY) break;
+            int home = UuidFloatTable.slot(keyMost[j], keyLeast[j], keyMask);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keyMost[hole] = keyMost[j];
+                keyLeast[hole] = keyLeast[j];
+                keySlot[hole] = keySlot[j];
+                hole = j;
+            }
+        }
+        keySlot[hole] = EMPTY;
+    }
+
+    private void rebuildIndex(int capacity) {
+        allocateIndex(capacity);
+        for (int slot = 0; slot < size; slot++) {
+            UUID uuid = uuids[slot];
+            putIndex(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), slot);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.zip.CRC32;
+
+/**
+ * Watches scaleme_presets.json for changes made by other programs.
+ * Events are debounced, then the file's content is checked on the {@link BackgroundFileWriter}
+ * thread against a CRC32 of the bytes ScaleMe last read or wrote, so saving the file ourselves
+ * never triggers a reload, while an external edit always does, even one that keeps the size
+ * and lands within the same timestamp tick.
+ */
+public final class PresetFileWatcher {
+    // Editors and sync tools often write a file in several steps
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    // CRC32 values are unsigned 32-bit, so this never collides with one
+    private static final long MISSING = -1;
+
+    private final Path file;
+    private final Runnable onChange;
+    private volatile long knownChecksum = MISSING;
+    private WatchService service;
+
+    public PresetFileWatcher(Path file, Runnable onChange) {
+        this.file = file;
+        this.onChange = onChange;
+    }
+
+    public void start() {
+        if (service != null) return;
+
+        try {
+            service = file.getFileSystem().newWatchService();
+            file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            Scaleme.LOGGER.warn("Preset hot reload unavailable: {}", e.toString());
+            service = null;
+            return;
+        }
+
+        Thread thread = new Thread(this::run, "ScaleMe Preset Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Records the file's current content as seen by ScaleMe. Called before loading it.
+     */
+    public void markRead() {
+        knownChecksum = checksum(file);
+    }
+
+    /**
+     * Records the CRC32 of the bytes ScaleMe just wrote to the file. Taken from the write
+     * itself, so a change made by another program right after it is still noticed.
+     */
+    public void markOwnWrite(long checksum) {
+        knownChecksum = checksum;
+    }
+
+    /**
+     * CRC32 of the file's content, or -1 when it can't be read.
+     */
+    public static long checksum(Path file) {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(file));
+            return crc.getValue();
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = containsFile(key);
+                key.reset();
+                if (!changed) continue;
+
+                // Fold the rest of a burst into this change
+                Thread.sleep(DEBOUNCE_MILLIS);
+                WatchKey pending;
+                while ((pending = service.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                // Queued behind any save in progress, whose checksum is then already known
+                BackgroundFileWriter.execute(this::checkChanged);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    private boolean containsFile(WatchKey key) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // An overflow may have swallowed our file's event, so check it anyway
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * True, once, when the file's content differs from what ScaleMe last read or wrote.
+     * Lets a save check for an external edit the watcher has not reported yet.
+     */
+    public synchronized boolean pollChange() {
+        long checksum = checksum(file);
+        if (checksum == MISSING || checksum == knownChecksum) return false;
+
+        knownChecksum = checksum;
+        return true;
+    }
+
+    private void checkChanged() {
+        if (pollChange()) {
+            onChange.run();
+        }
+    }
+}
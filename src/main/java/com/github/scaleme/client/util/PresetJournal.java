@@ -0,0 +1,232 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+import com.github.scaleme.client.data.PlayerPreset;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of preset mutations kept next to scaleme_presets.json, one JSON record
+ * per line: {@code {"put":{...preset...}}} or {@code {"remove":"identifier"}}.
+ * A single edit is one small append instead of a rewrite of the whole file. The journal is
+ * replayed over the main file on load and folded back into it (compaction) once it grows
+ * past {@link #COMPACT_THRESHOLD_BYTES}. Appends are queued and written on the
+ * {@link BackgroundFileWriter} thread, so they stay ordered with the compacting writes;
+ * {@link #flush()} writes whatever is still queued on the calling thread.
+ * Records are numbered in append order, so a full write only drops the records its
+ * snapshot covered ({@link #mark()}, then {@link #dropThrough(long)}) and keeps any appended
+ * while it ran.
+ */
+public final class PresetJournal {
+    public static final long COMPACT_THRESHOLD_BYTES = 256 * 1024;
+
+    // Compact output: one record per line
+    private static final Gson GSON = new Gson();
+
+    private final Path path;
+    private final Runnable compactor;
+    private long size;
+    // Records queued by append() and not written yet, in order
+    private final List<Entry> pending = new ArrayList<>();
+    // Record numbers: last handed out by append(), last written, and the file's first line.
+    // Lines already in the file at startup take the first numbers
+    private long appended;
+    private long written;
+    private long firstInFile = 1;
+
+    /**
+     * A recorded mutation; a null preset removes whatever is stored under the identifier.
+     */
+    public record Entry(String identifier, PlayerPreset preset) {
+        public static Entry put(PlayerPreset preset) {
+            return new Entry(preset.identifier, preset);
+        }
+
+        public static Entry remove(String identifier) {
+            return new Entry(identifier, null);
+        }
+    }
+
+    public PresetJournal(Path path, Runnable compactor) {
+        this.path = path;
+        this.compactor = compactor;
+        List<String> existing = readLines();
+        for (String line : existing) {
+            size += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        this.appended = existing.size();
+        this.written = existing.size();
+    }
+
+    // Non-blank lines in file order, one per record
+    private List<String> readLines() {
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(path)) return lines;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) lines.add(line);
+            }
+        } catch (IOException e) {
+            Scaleme.LOGGER.warn("Failed to read preset journal", e);
+        }
+        return lines;
+    }
+
+    /**
+     * Reads every intact record in order. A torn last line (e.g. after a crash) is skipped.
+     */
+    public synchronized List<Entry> read() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path)) return entries;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                try {
+                    Entry entry = parse(line);
+                    if (entry != null) entries.add(entry);
+                } catch (JsonParseException | IllegalStateException e) {
+                    Scaleme.LOGGER.warn("Skipping malformed preset journal record on line {}", lineNumber);
+                }
+            }
+        } catch (IOException e) {
+            Scaleme.LOGGER.error("Failed to read preset journal", e);
+        }
+        return entries;
+    }
+
+    private static Entry parse(String line) {
+        JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+        if (record.has("put")) {
+            PlayerPreset preset = GSON.fromJson(record.get("put"), PlayerPreset.class);
+            return preset != null ? Entry.put(preset) : null;
+        }
+        if (record.has("remove")) {
+            return Entry.remove(record.get("remove").getAsString());
+        }
+        return null;
+    }
+
+    /**
+     * Queues records for appending on the writer thread.
+     */
+    public void append(Entry... entries) {
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            pending.addAll(List.of(entries));
+            appended += entries.length;
+        }
+        // One drain per burst; records queued before it runs are written together
+        if (schedule) {
+            BackgroundFileWriter.execute(this::drain);
+        }
+    }
+
+    /**
+     * Writes every queued record on the calling thread. Called when the client stops.
+     */
+    public void flush() {
+        drain();
+    }
+
+    private void drain() {
+        boolean compact;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+
+            StringBuilder lines = new StringBuilder();
+            for (Entry entry : pending) {
+                JsonObject record = new JsonObject();
+                if (entry.preset() != null) {
+                    record.add("put", GSON.toJsonTree(entry.preset(), PlayerPreset.class));
+                } else {
+                    record.addProperty("remove", entry.identifier());
+                }
+                lines.append(GSON.toJson(record)).append('\n');
+            }
+
+            byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+            try {
+                Files.write(path, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                size += bytes.length;
+                written += pending.size();
+                pending.clear();
+            } catch (IOException e) {
+                // Kept queued, so the next flush retries them in order
+                Scaleme.LOGGER.error("Failed to append to preset journal", e);
+            }
+            compact = size > COMPACT_THRESHOLD_BYTES;
+        }
+        if (compact) {
+            compactor.run();
+        }
+    }
+
+    /**
+     * Number of the last record appended so far. Taken before a full write snapshots the
+     * presets, so every record up to it is part of that snapshot.
+     */
+    public synchronized long mark() {
+        return appended;
+    }
+
+    /**
+     * Drops the records up to {@code mark}, once the main file holds everything they describe.
+     * Records appended after the mark stay, in order, as the new start of the journal.
+     */
+    public synchronized void dropThrough(long mark) {
+        if (mark < firstInFile) return;
+
+        try {
+            if (mark >= written) {
+                Files.deleteIfExists(path);
+                size = 0;
+                firstInFile = written + 1;
+                return;
+            }
+
+            List<String> lines = readLines();
+            int dropped = (int) Math.min(lines.size(), mark - firstInFile + 1);
+            StringBuilder kept = new StringBuilder();
+            for (String line : lines.subList(dropped, lines.size())) {
+                kept.append(line).append('\n');
+            }
+            byte[] bytes = kept.toString().getBytes(StandardCharsets.UTF_8);
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            size = bytes.length;
+            firstInFile = mark + 1;
+        } catch (IOException e) {
+            Scaleme.LOGGER.error("Failed to compact preset journal", e);
+        }
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+}
@@ -0,0 +1,255 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.Scaleme;
+import com.github.scaleme.client.data.PlayerPreset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * All pattern presets compiled into a single immutable matcher.
+ * Plain {@code prefix*} and {@code *suffix} globs go into tries, everything else (inner
+ * wildcards, {@code ?}, {@code regex:} rules) is joined into one alternation, so matching a
+ * name is one trie walk per end plus at most one regex run. Regexes that can't be wrapped
+ * in a group without changing their meaning (backreferences, named groups) are matched on
+ * their own, as is everything when the alternation fails to compile. When several patterns
+ * match, the one that comes first in the preset list wins.
+ */
+public final class PresetPatternMatcher {
+    public static final PresetPatternMatcher EMPTY = new PresetPatternMatcher(List.of());
+
+    private final PlayerPreset[] presets;
+    private final TrieNode prefixes = new TrieNode();
+    private final TrieNode suffixes = new TrieNode();
+    private final Pattern combined;
+    // Capture group index of each regex alternative and the preset it belongs to
+    private final int[] groupIndex;
+    private final int[] groupPreset;
+    // Alternatives matched one by one, in preset order
+    private final Pattern[] separate;
+    private final int[] separatePreset;
+
+    public PresetPatternMatcher(List<PlayerPreset> patternPresets) {
+        this.presets = patternPresets.toArray(new PlayerPreset[0]);
+
+        List<Pattern> alternatives = new ArrayList<>();
+        List<Integer> alternativePresets = new ArrayList<>();
+        List<Pattern> standalone = new ArrayList<>();
+        List<Integer> standalonePresets = new ArrayList<>();
+
+        for (int i = 0; i < presets.length; i++) {
+            String pattern = presets[i].getPattern();
+            if (pattern == null) continue;
+
+            String regex;
+            if (presets[i].isRegexPattern()) {
+                regex = pattern;
+            } else {
+                int star = pattern.indexOf('*');
+                boolean single = star >= 0 && star == pattern.lastIndexOf('*') && pattern.indexOf('?') < 0;
+                if (single && star == pattern.length() - 1) {
+                    prefixes.insert(pattern, 0, star, 1, i);
+                    continue;
+                }
+                if (single && star == 0) {
+                    suffixes.insert(pattern, pattern.length() - 1, 0, -1, i);
+                    continue;
+                }
+                regex = globToRegex(pattern);
+            }
+
+            // Validated on its own, so one bad rule only disables itself
+            Pattern compiled;
+            try {
+                compiled = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                Scaleme.LOGGER.warn("Ignoring invalid preset pattern '{}': {}", presets[i].identifier, e.getDescription());
+                continue;
+            }
+
+            if (presets[i].isRegexPattern() && !combinable(regex)) {
+                standalone.add(compiled);
+                standalonePresets.add(i);
+            } else {
+                alternatives.add(compiled);
+                alternativePresets.add(i);
+            }
+        }
+
+        Pattern joined = null;
+        List<int[]> groups = new ArrayList<>();
+        if (!alternatives.isEmpty()) {
+            StringBuilder alternation = new StringBuilder();
+            int nextGroup = 1;
+            for (int a = 0; a < alternatives.size(); a++) {
+                if (!alternation.isEmpty()) alternation.append('|');
+                alternation.append('(').append(alternatives.get(a).pattern()).append(')');
+                groups.add(new int[]{nextGroup, alternativePresets.get(a)});
+                nextGroup += alternatives.get(a).matcher("").groupCount() + 1;
+            }
+            try {
+                joined = Pattern.compile(alternation.toString(), Pattern.CASE_INSENSITIVE);
+            } catch (PatternSyntaxException e) {
+                Scaleme.LOGGER.warn("Could not combine preset patterns, matching them one by one: {}", e.getDescription());
+                groups.clear();
+                standalone.addAll(alternatives);
+                standalonePresets.addAll(alternativePresets);
+            }
+        }
+
+        this.combined = joined;
+        this.groupIndex = new int[groups.size()];
+        this.groupPreset = new int[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            groupIndex[i] = groups.get(i)[0];
+            groupPreset[i] = groups.get(i)[1];
+        }
+
+        // Keep preset order so the first standalone match is also the best one among them
+        Integer[] order = new Integer[standalone.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(standalonePresets.get(a), standalonePresets.get(b)));
+        this.separate = new Pattern[order.length];
+        this.separatePreset = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            separate[i] = standalone.get(order[i]);
+            separatePreset[i] = standalonePresets.get(order[i]);
+        }
+    }
+
+    /**
+     * Returns the highest priority pattern preset matching the lower-cased username or
+     * display name, or null.
+     */
+    public PlayerPreset match(String username) {
+        if (presets.length == 0 || username == null) return null;
+
+        int best = Math.min(
+                prefixes.bestMatch(username, 0, username.length(), 1),
+                suffixes.bestMatch(username, username.length() - 1, -1, -1)
+        );
+
+        if (combined != null) {
+            Matcher matcher = combined.matcher(username);
+            if (matcher.matches()) {
+                for (int i = 0; i < groupIndex.length; i++) {
+                    if (matcher.start(groupIndex[i]) >= 0) {
+                        best = Math.min(best, groupPreset[i]);
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < separate.length && separatePreset[i] < best; i++) {
+            if (separate[i].matcher(username).matches()) {
+                best = separatePreset[i];
+                break;
+            }
+        }
+
+        return best == Integer.MAX_VALUE ? null : presets[best];
+    }
+
+    public boolean isEmpty() {
+        return presets.length == 0;
+    }
+
+    /**
+     * False for regexes whose meaning depends on group numbering or names: wrapping them in
+     * another group shifts numbered backreferences, and a named group may only appear once
+     * in the whole alternation.
+     */
+    private static boolean combinable(String regex) {
+        boolean quoted = false;
+        for (int i = 0; i < regex.length() - 1; i++) {
+            char c = regex.charAt(i);
+            char next = regex.charAt(i + 1);
+            if (quoted) {
+                if (c == '\\' && next == 'E') {
+                    quoted = false;
+                    i++;
+                }
+                continue;
+            }
+            if (c == '\\') {
+                if (next == 'Q') {
+                    quoted = true;
+                } else if (next == 'k' || (next >= '1' && next <= '9')) {
+                    return false;
+                }
+                i++;
+            } else if (c == '(' && regex.startsWith("?<", i + 1) && i + 3 < regex.length()
+                    && regex.charAt(i + 3) != '=' && regex.charAt(i + 3) != '!') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literalStart) regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) regex.append(Pattern.quote(glob.substring(literalStart)));
+        return regex.toString();
+    }
+
+    /**
+     * Character trie; each node remembers the lowest preset index whose literal ends there.
+     */
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int preset = Integer.MAX_VALUE;
+
+        void insert(String text, int from, int to, int step, int presetIndex) {
+            TrieNode node = this;
+            for (int i = from; i != to; i += step) {
+                node = node.childOrCreate(text.charAt(i));
+            }
+            node.preset = Math.min(node.preset, presetIndex);
+        }
+
+        int bestMatch(String text, int from, int to, int step) {
+            int best = preset;
+            TrieNode node = this;
+            for (int i = from; i != to; i += step) {
+                node = node.child(text.charAt(i));
+                if (node == null) break;
+                best = Math.min(best, node.preset);
+            }
+            return best;
+        }
+
+        private TrieNode child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        private TrieNode childOrCreate(char c) {
+            TrieNode existing = child(c);
+            if (existing != null) return existing;
+
+            TrieNode created = new TrieNode();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
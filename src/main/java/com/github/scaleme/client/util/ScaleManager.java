@@ -1,147 +1,300 @@
 package com.github.scaleme.client.util;
 
-import com.github.scaleme.client.data.PlayerPreset;
+import com.github.scaleme.client.jfr.ScaleJfr;
 import com.github.scaleme.config.ScaleMeConfig;
-import net.minecraft.client.MinecraftClient;
+import com.github.scaleme.config.ScaleSettings;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.MathHelper;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class ScaleManager {
+    // Animation state below is only touched on the client thread; settings come from ScaleSettings
+    private static float previousOwnScale = 1.0f;
     private static float currentOwnScale = 1.0f;
     private static float targetOwnScale = 1.0f;
     private static float currentOtherScale = 1.0f;
-    private static float targetOtherScale = 1.0f;
-    private static long lastUpdateTime = 0;
 
-    // Cache for player-specific scales
-    private static final ConcurrentHashMap<UUID, Float> currentPlayerScales = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<UUID, Float> targetPlayerScales = new ConcurrentHashMap<>();
+    // Hard cap on per-player state; entries normally come and go with entity load/unload
+    private static final int MAX_TRACKED_PLAYERS = 512;
+    private static long evictedPlayerScales = 0;
+
+    // Animation state for other players, only converging players are touched per tick
+    private static final PlayerScaleStore playerScales = new PlayerScaleStore(64, MAX_TRACKED_PLAYERS);
+
+    // Players farther than this snap instead of animating while the budget policy asks for it
+    private static double snapDistanceSq = Double.MAX_VALUE;
+
+    // Rules compiled for the current settings/preset epochs; targets are re-resolved when they change
+    private static ScaleRules rules = ScaleRules.compile(ScaleSettings.get(), -1);
+
+    // Scales resolved once per frame for every player in the world; read by the render mixin
+    private static final UuidFloatTable frameScales = new UuidFloatTable(256);
+
+    // Non-player entity scales, recompiled per settings epoch and per world (raw ids may be remapped)
+    private static EntityScaleTable entityScales = EntityScaleTable.EMPTY;
+    private static long entityScalesEpoch = -1;
+    // Table used by this frame: EMPTY while entity scaling is off or blocked
+    private static EntityScaleTable frameEntityScales = EntityScaleTable.EMPTY;
+
+    // Safety state seen by the last tick, used to report transitions
+    private static boolean scalingBlocked = false;
 
     public static void init() {
-        currentOwnScale = ScaleMeConfig.ownPlayerScale;
-        targetOwnScale = ScaleMeConfig.ownPlayerScale;
-        currentOtherScale = ScaleMeConfig.otherPlayersScale;
-        targetOtherScale = ScaleMeConfig.otherPlayersScale;
+        ScaleSettings settings = ScaleSettings.rebuild();
+        previousOwnScale = settings.ownPlayerScale();
+        currentOwnScale = settings.ownPlayerScale();
+        targetOwnScale = settings.ownPlayerScale();
+        currentOtherScale = settings.otherPlayersScale();
 
         // Initialize player preset manager
         PlayerPresetManager.init();
     }
 
+    /**
+     * Advances detection, targets and smoothing by one client tick.
+     * Registered on END_CLIENT_TICK; the render path only interpolates the result.
+     */
     public static void tick() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastUpdateTime < 16) return; // ~60 FPS limit
-        lastUpdateTime = currentTime;
+        long start = System.nanoTime();
+        ScaleSettings settings = ScaleSettings.get();
+        ScaleJfr.update(settings);
 
         // Update Hypixel detection if safety mode is enabled
-        if (ScaleMeConfig.enableHypixelSafety) {
+        if (settings.enableHypixelSafety()) {
             HypixelDetector.updateDetection();
         }
 
-        // Update target scales from config
-        targetOwnScale = ScaleMeConfig.ownPlayerScale;
-        targetOtherScale = ScaleMeConfig.otherPlayersScale;
+        boolean blocked = isScalingBlocked(settings);
+        if (blocked != scalingBlocked) {
+            scalingBlocked = blocked;
+            if (ScaleJfr.isEnabled()) {
+                ScaleJfr.safetyTransition(blocked, blocked ? getRestrictionReason() : "");
+            }
+        }
+
+        refreshRules(settings);
+
+        // Update target scales
+        targetOwnScale = rules.decideOwn(ClientFacade.get().getLocalPlayerUUID());
+        float targetOtherScale = settings.enableOtherPlayersScaling() ? settings.otherPlayersScale() : 1.0f;
+
+        float alpha = settings.smoothingFactor();
 
         // Update own player scale
-        if (ScaleMeConfig.ownPlayerSmoothScaling) {
-            float ownDifference = targetOwnScale - currentOwnScale;
-            if (Math.abs(ownDifference) > 0.001f) {
-                currentOwnScale += ownDifference * 0.1f;
-            } else {
-                currentOwnScale = targetOwnScale;
+        previousOwnScale = currentOwnScale;
+        currentOwnScale = settings.ownPlayerSmoothScaling()
+                ? approach(currentOwnScale, targetOwnScale, alpha)
+                : targetOwnScale;
+
+        // Update other players scale
+        currentOtherScale = settings.otherPlayersSmoothScaling()
+                ? approach(currentOtherScale, targetOtherScale, alpha)
+                : targetOtherScale;
+
+        // Update individual player scales with smooth scaling; settled players are skipped
+        FrameBudget.Policy policy = FrameBudget.getPolicy();
+        boolean smoothOthers = settings.otherPlayersSmoothScaling() && policy.ordinal() < FrameBudget.Policy.SNAP_ALL.ordinal();
+        if (smoothOthers && policy == FrameBudget.Policy.SNAP_DISTANT && playerScales.activeCount() > 0) {
+            snapDistanceSq = settings.budgetSmoothingDistanceSq();
+            ClientFacade.get().forEachWorldPlayer(ScaleManager::snapIfDistant);
+        }
+        playerScales.advance(smoothOthers ? alpha : 1.0f);
+
+        FrameBudget.recordTick(System.nanoTime() - start);
+    }
+
+    private static void snapIfDistant(UUID playerUUID, double squaredDistance) {
+        if (squaredDistance > snapDistanceSq) {
+            int slot = playerScales.slotOf(playerUUID);
+            if (slot >= 0 && slot < playerScales.activeCount()) {
+                playerScales.snap(slot);
             }
-        } else {
-            currentOwnScale = targetOwnScale;
         }
+    }
 
-        // Update other players scale
-        if (ScaleMeConfig.otherPlayersSmoothScaling) {
-            float otherDifference = targetOtherScale - currentOtherScale;
-            if (Math.abs(otherDifference) > 0.001f) {
-                currentOtherScale += otherDifference * 0.1f;
-            } else {
-                currentOtherScale = targetOtherScale;
+    /**
+     * Re-decides the target of a single player, e.g. after its listed name or team changed.
+     */
+    public static void refreshTarget(UUID playerUUID) {
+        float target = rules.redecide(playerUUID);
+        int slot = playerScales.slotOf(playerUUID);
+        if (slot >= 0) {
+            playerScales.setTarget(slot, target, rules.isExplicitDecision(playerUUID));
+        }
+    }
+
+    /**
+     * Recompiles the rules when settings or presets moved to a new epoch and re-resolves
+     * every tracked target; does nothing otherwise.
+     */
+    public static void refreshRules(ScaleSettings settings) {
+        if (rules.isCurrent(settings, PlayerPresetManager.getEpoch())) {
+            return;
+        }
+
+        rules = ScaleRules.compile(settings, PlayerPresetManager.getEpoch());
+        for (int slot = 0; slot < playerScales.size(); slot++) {
+            UUID uuid = playerScales.uuidAt(slot);
+            playerScales.setTarget(slot, rules.decide(uuid), rules.isExplicitDecision(uuid));
+        }
+    }
+
+    private static float approach(float current, float target, float alpha) {
+        float difference = target - current;
+        if (Math.abs(difference) > 0.001f) {
+            return current + difference * alpha;
+        }
+        return target;
+    }
+
+    public static float getCurrentScale(UUID playerUUID) {
+        ScaleMetrics.FULL_SCALE_RESOLUTIONS.increment();
+        return resolveScale(ClientFacade.get().getLocalPlayerUUID(), playerUUID, 1.0f);
+    }
+
+    /**
+     * Interpolates the scale of every tracked player into the frame table.
+     * Called once per frame before entities are rendered.
+     */
+    public static void resolveFrame(float tickDelta) {
+        long start = System.nanoTime();
+        ScaleMetrics.onFrame();
+        resolveFrameScales(tickDelta);
+        long elapsed = System.nanoTime() - start;
+        ScaleMetrics.FRAME_RESOLVE_NANOS.record(elapsed);
+        FrameBudget.recordFrame(elapsed, ScaleSettings.get());
+    }
+
+    private static void resolveFrameScales(float tickDelta) {
+        frameScales.clear();
+        frameEntityScales = EntityScaleTable.EMPTY;
+
+        ClientFacade client = ClientFacade.get();
+        UUID localPlayerUUID = client.getLocalPlayerUUID();
+        if (!client.isInWorld() || localPlayerUUID == null) {
+            return;
+        }
+
+        ScaleSettings settings = ScaleSettings.get();
+        if (isScalingBlocked(settings)) {
+            // Untracked lookups fall through to resolveScale, which applies the same check
+            return;
+        }
+
+        if (settings.enableEntityScaling()) {
+            if (entityScalesEpoch != settings.epoch()) {
+                entityScalesEpoch = settings.epoch();
+                entityScales = EntityScaleTable.compile(settings.entityTypeScales(), settings.entityNameScales());
             }
-        } else {
-            currentOtherScale = targetOtherScale;
-        }
-
-        // Update individual player scales with smooth scaling
-        for (UUID uuid : currentPlayerScales.keySet()) {
-            float current = currentPlayerScales.get(uuid);
-            float target = targetPlayerScales.getOrDefault(uuid, 1.0f);
-
-            if (ScaleMeConfig.otherPlayersSmoothScaling) {
-                float difference = target - current;
-                if (Math.abs(difference) > 0.001f) {
-                    currentPlayerScales.put(uuid, current + difference * 0.1f);
-                } else {
-                    currentPlayerScales.put(uuid, target);
-                }
+            frameEntityScales = entityScales;
+        }
+
+        frameScales.put(localPlayerUUID, MathHelper.lerp(tickDelta, previousOwnScale, currentOwnScale));
+        boolean presetsOnly = FrameBudget.getPolicy() == FrameBudget.Policy.PRESETS_ONLY;
+        for (int slot = 0; slot < playerScales.size(); slot++) {
+            UUID uuid = playerScales.uuidAt(slot);
+            // The flag was decided with the target, so this stays an array read per player
+            if (presetsOnly && !playerScales.isExplicit(slot)) {
+                frameScales.put(uuid, 1.0f);
             } else {
-                currentPlayerScales.put(uuid, target);
+                frameScales.put(uuid, playerScales.interpolate(slot, tickDelta));
             }
         }
     }
 
-    public static float getCurrentScale(UUID playerUUID) {
-        tick();
+    /**
+     * Returns the scale resolved for this frame, falling back to a full resolution
+     * for players that were not part of the frame pass (e.g. inventory previews).
+     */
+    public static float getFrameScale(UUID playerUUID) {
+        ScaleMetrics.FRAME_SCALE_LOOKUPS.increment();
+        float scale = frameScales.get(playerUUID, Float.NaN);
+        if (Float.isNaN(scale)) {
+            return getCurrentScale(playerUUID);
+        }
+        return scale;
+    }
+
+    /**
+     * Returns this frame's scale for a non-player entity.
+     */
+    public static float getEntityScale(Entity entity) {
+        return frameEntityScales.scaleOf(entity);
+    }
 
+    /**
+     * Resolves a player's scale without the frame table. Takes the local player's UUID
+     * (null when not in a world) so callers that already know it skip the facade.
+     */
+    public static float resolveScale(UUID localPlayerUUID, UUID playerUUID, float tickDelta) {
         // HYPIXEL SAFETY CHECK: Disable scaling in competitive games if safety mode is enabled
-        if (ScaleMeConfig.enableHypixelSafety && !HypixelDetector.isScalingAllowed()) {
+        if (isScalingBlocked(ScaleSettings.get())) {
             return 1.0f; // Return normal scale when scaling is not allowed
         }
 
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client.player == null || playerUUID == null) {
+        if (localPlayerUUID == null || playerUUID == null) {
             return 1.0f;
         }
 
-        boolean isOwnPlayer = playerUUID.equals(client.player.getUuid());
+        if (playerUUID.equals(localPlayerUUID)) {
+            return MathHelper.lerp(tickDelta, previousOwnScale, currentOwnScale);
+        }
 
-        // Check for player-specific presets first (highest priority)
-        if (ScaleMeConfig.enablePlayerPresets && !isOwnPlayer) {
-            PlayerPreset preset = PlayerPresetManager.getPresetForPlayer(playerUUID);
-            if (preset != null) {
-                // Cache the target scale for smooth scaling
-                targetPlayerScales.put(playerUUID, preset.scale);
-                return currentPlayerScales.computeIfAbsent(playerUUID, k -> preset.scale);
-            }
+        if (FrameBudget.getPolicy() == FrameBudget.Policy.PRESETS_ONLY && !rules.isExplicitDecision(playerUUID)) {
+            return 1.0f;
+        }
+
+        int slot = playerScales.slotOf(playerUUID);
+        if (slot < 0) {
+            // Not tracked (e.g. over the cap), show the target straight away
+            return rules.decide(playerUUID);
         }
+        return playerScales.interpolate(slot, tickDelta);
+    }
 
-        // Use global scales if no preset found
-        if (isOwnPlayer) {
-            return currentOwnScale;
-        } else {
-            // For other players, use global scale if no preset exists
-            targetPlayerScales.put(playerUUID, currentOtherScale);
-            return currentPlayerScales.computeIfAbsent(playerUUID, k -> currentOtherScale);
+    /**
+     * Safety gate applied before any rule: competitive Hypixel games, and Skyblock
+     * when scaling there is not allowed.
+     */
+    private static boolean isScalingBlocked(ScaleSettings settings) {
+        if (!settings.enableHypixelSafety()) {
+            return false;
+        }
+        if (!HypixelDetector.isScalingAllowed()) {
+            return true;
         }
+        return !settings.allowSkyblockScaling() && HypixelDetector.isInSkyblock();
     }
 
     // Add method to check if scaling is currently active
     public static boolean isScalingActive() {
-        if (!ScaleMeConfig.enableHypixelSafety) {
-            return true; // If safety mode is disabled, scaling is always active
-        }
-        return HypixelDetector.isScalingAllowed();
+        return !isScalingBlocked(ScaleSettings.get());
     }
 
     // Add method to get restriction reason
     public static String getRestrictionReason() {
-        if (ScaleMeConfig.enableHypixelSafety && HypixelDetector.isOnHypixel() && HypixelDetector.isInCompetitiveGame()) {
+        ScaleSettings settings = ScaleSettings.get();
+        if (settings.enableHypixelSafety() && HypixelDetector.isOnHypixel() && HypixelDetector.isInCompetitiveGame()) {
             return "Disabled in competitive game: " + HypixelDetector.getCurrentGameMode();
         }
+        if (settings.enableHypixelSafety() && !settings.allowSkyblockScaling() && HypixelDetector.isInSkyblock()) {
+            return "Disabled in Skyblock by config";
+        }
         return "";
     }
 
-    // Existing methods...
+    // Scale setters go through the config so the change is published as a new settings epoch
     public static void setOwnPlayerScale(float scale) {
-        targetOwnScale = Math.max(0.1f, Math.min(3.0f, scale));
+        ScaleMeConfig.ownPlayerScale = Math.max(0.1f, Math.min(3.0f, scale));
+        ScaleSettings.rebuild();
     }
 
     public static void setOtherPlayersScale(float scale) {
-        targetOtherScale = Math.max(0.1f, Math.min(3.0f, scale));
+        ScaleMeConfig.otherPlayersScale = Math.max(0.1f, Math.min(3.0f, scale));
+        ScaleSettings.rebuild();
     }
 
     public static float getOwnPlayerScale() {
@@ -152,13 +305,66 @@ public class ScaleManager {
         return currentOtherScale;
     }
 
+    /**
+     * Starts tracking smoothing state for a player that was loaded into the world.
+     * New players start at their target scale instead of animating in from 1.0.
+     */
+    public static void trackPlayer(UUID playerUUID) {
+        if (playerScales.slotOf(playerUUID) >= 0) return;
+
+        if (playerScales.size() >= MAX_TRACKED_PLAYERS) {
+            pruneUnloadedPlayers();
+        }
+        // Untracked players still resolve, just without smoothing
+        playerScales.track(playerUUID, rules.decide(playerUUID), rules.isExplicitDecision(playerUUID));
+    }
+
+    /**
+     * Drops state for players that are no longer in the world, in case an unload event was missed.
+     */
+    private static void pruneUnloadedPlayers() {
+        ClientFacade client = ClientFacade.get();
+        if (!client.isInWorld()) {
+            clearAllPlayerScales();
+            return;
+        }
+
+        Set<UUID> loaded = new HashSet<>(client.getWorldPlayerUUIDs());
+        for (int slot = playerScales.size() - 1; slot >= 0; slot--) {
+            UUID uuid = playerScales.uuidAt(slot);
+            if (!loaded.contains(uuid)) {
+                clearPlayerScale(uuid);
+            }
+        }
+    }
+
+    public static int getTrackedPlayerCount() {
+        return playerScales.size();
+    }
+
+    public static int getAnimatingPlayerCount() {
+        return playerScales.activeCount();
+    }
+
+    public static int getMaxTrackedPlayers() {
+        return MAX_TRACKED_PLAYERS;
+    }
+
+    public static long getEvictedPlayerCount() {
+        return evictedPlayerScales;
+    }
+
     public static void clearPlayerScale(UUID playerUUID) {
-        currentPlayerScales.remove(playerUUID);
-        targetPlayerScales.remove(playerUUID);
+        if (playerScales.untrack(playerUUID)) {
+            evictedPlayerScales++;
+        }
     }
 
     public static void clearAllPlayerScales() {
-        currentPlayerScales.clear();
-        targetPlayerScales.clear();
+        evictedPlayerScales += playerScales.size();
+        playerScales.clear();
+        rules.clearDecisions();
+        entityScalesEpoch = -1;
+        FrameBudget.reset();
     }
-}
\ No newline at end of file
+}
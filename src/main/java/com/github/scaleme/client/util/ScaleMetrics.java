@@ -0,0 +1,156 @@
+package com.github.scaleme.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters and latency histograms for the scaling hot paths.
+ * Everything is backed by striped {@link LongAdder}s, so recording is a single uncontended
+ * add and never allocates; reads (the stats command and overlay) pay for summing the stripes.
+ */
+public final class ScaleMetrics {
+    // Render path
+    public static final Counter FRAME_SCALE_LOOKUPS = new Counter();
+    public static final Counter FULL_SCALE_RESOLUTIONS = new Counter();
+    public static final Histogram FRAME_RESOLVE_NANOS = new Histogram();
+
+    // Rule decisions
+    public static final Counter DECISION_CACHE_HITS = new Counter();
+    public static final Counter DECISION_CACHE_MISSES = new Counter();
+    public static final Counter PRESET_HITS = new Counter();
+    public static final Counter PRESET_MISSES = new Counter();
+
+    // Background work
+    public static final Histogram PRESET_SAVE_NANOS = new Histogram();
+    public static final Histogram HYPIXEL_DETECTION_NANOS = new Histogram();
+
+    // Lookups done during the last completed frame, sampled by onFrame()
+    private static long lookupsAtFrameStart = 0;
+    private static long lastFrameLookups = 0;
+
+    private ScaleMetrics() {
+    }
+
+    /**
+     * Closes the previous frame's lookup window. Called once per frame from the render thread.
+     */
+    static void onFrame() {
+        long lookups = FRAME_SCALE_LOOKUPS.sum() + FULL_SCALE_RESOLUTIONS.sum();
+        lastFrameLookups = lookups - lookupsAtFrameStart;
+        lookupsAtFrameStart = lookups;
+    }
+
+    public static long getLastFrameLookups() {
+        return lastFrameLookups;
+    }
+
+    /**
+     * Human readable summary shared by /scaleme stats and the overlay.
+     */
+    public static List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Scale lookups last frame: " + lastFrameLookups
+                + " (" + FULL_SCALE_RESOLUTIONS.sum() + " full resolutions total)");
+        lines.add(String.format("Frame resolve: avg %.1f us, p99 < %.1f us",
+                FRAME_RESOLVE_NANOS.mean() / 1000.0, FRAME_RESOLVE_NANOS.percentile(0.99) / 1000.0));
+        lines.add(String.format("Budget policy: %s (%.1f us per frame)",
+                FrameBudget.getPolicy().getDescription(), FrameBudget.getAverageMicros()));
+        lines.add("Decision cache: " + DECISION_CACHE_HITS.sum() + " hits / " + DECISION_CACHE_MISSES.sum() + " misses");
+        lines.add("Preset index: " + PRESET_HITS.sum() + " hits / " + PRESET_MISSES.sum() + " misses");
+        lines.add("Tracked players: " + ScaleManager.getTrackedPlayerCount() + " / " + ScaleManager.getMaxTrackedPlayers()
+                + ", animating: " + ScaleManager.getAnimatingPlayerCount());
+        lines.add(String.format("Preset save: %d saves, avg %.2f ms",
+                PRESET_SAVE_NANOS.count(), PRESET_SAVE_NANOS.mean() / 1_000_000.0));
+        lines.add(String.format("Hypixel detection: avg %.1f us, p99 < %.1f us",
+                HYPIXEL_DETECTION_NANOS.mean() / 1000.0, HYPIXEL_DETECTION_NANOS.percentile(0.99) / 1000.0));
+        return lines;
+    }
+
+    public static void reset() {
+        FRAME_SCALE_LOOKUPS.reset();
+        FULL_SCALE_RESOLUTIONS.reset();
+        FRAME_RESOLVE_NANOS.reset();
+        DECISION_CACHE_HITS.reset();
+        DECISION_CACHE_MISSES.reset();
+        PRESET_HITS.reset();
+        PRESET_MISSES.reset();
+        PRESET_SAVE_NANOS.reset();
+        HYPIXEL_DETECTION_NANOS.reset();
+        lookupsAtFrameStart = 0;
+        lastFrameLookups = 0;
+    }
+
+    public static final class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public long sum() {
+            return adder.sum();
+        }
+
+        void reset() {
+            adder.reset();
+        }
+    }
+
+    /**
+     * Power-of-two bucketed histogram; percentiles are reported as the bucket's upper bound.
+     */
+    public static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[64];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void record(long value) {
+            buckets[63 - Long.numberOfLeadingZeros(Math.max(1L, value))].increment();
+            count.increment();
+            total.add(value);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long total() {
+            return total.sum();
+        }
+
+        public long mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : total.sum() / n;
+        }
+
+        public long percentile(double quantile) {
+            long n = count.sum();
+            if (n == 0) return 0;
+
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            total.reset();
+        }
+    }
+}
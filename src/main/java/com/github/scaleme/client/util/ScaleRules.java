@@ -0,0 +1,144 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import com.github.scaleme.config.ScaleSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scale rules compiled for one settings epoch and one preset epoch.
+ * Priority, highest first: explicit preset (UUID or username), pattern preset, team preset,
+ * then the global scale. Preset scales include their category multiplier.
+ * Rule types with nothing configured are left out when compiling, and decisions are cached
+ * per UUID until the next epoch (bounded by {@link #MAX_CACHED_DECISIONS}), so new rule
+ * types add no per-frame cost. The Hypixel safety gate is applied on top by
+ * {@link ScaleManager} because it follows detection rather than configuration.
+ * Not thread-safe: used on the client thread only.
+ */
+public final class ScaleRules {
+    // Players passing through lobbies would otherwise grow the cache for the whole epoch;
+    // clearing is O(1) and tracked players keep their targets in PlayerScaleStore
+    static final int MAX_CACHED_DECISIONS = 4096;
+
+    /**
+     * A single rule; returns NaN when it has no opinion about the player.
+     */
+    @FunctionalInterface
+    interface Rule {
+        float apply(UUID playerUUID);
+    }
+
+    private final ScaleSettings settings;
+    private final long presetEpoch;
+    private final Rule[] rules;
+    private final float globalScale;
+    // Number of leading rules that match explicit presets (UUID or username)
+    private final int explicitRules;
+    private final UuidFloatTable decisions = new UuidFloatTable(64);
+    // 1 for decisions made by an explicit preset, 0 otherwise
+    private final UuidFloatTable explicitDecisions = new UuidFloatTable(64);
+
+    private ScaleRules(ScaleSettings settings, long presetEpoch, Rule[] rules, int explicitRules, float globalScale) {
+        this.settings = settings;
+        this.presetEpoch = presetEpoch;
+        this.rules = rules;
+        this.explicitRules = explicitRules;
+        this.globalScale = globalScale;
+    }
+
+    public static ScaleRules compile(ScaleSettings settings, long presetEpoch) {
+        List<Rule> rules = new ArrayList<>();
+        int explicitRules = 0;
+        if (settings.enablePlayerPresets()) {
+            rules.add(uuid -> scaleOf(PlayerPresetManager.getExplicitPreset(uuid)));
+            explicitRules = 1;
+            if (PlayerPresetManager.hasPatternPresets()) {
+                rules.add(uuid -> scaleOf(PlayerPresetManager.getPatternPreset(uuid)));
+            }
+            if (PlayerPresetManager.hasTeamPresets()) {
+                rules.add(uuid -> scaleOf(PlayerPresetManager.getTeamPreset(uuid)));
+            }
+        }
+
+        float globalScale = settings.enableOtherPlayersScaling() ? settings.otherPlayersScale() : 1.0f;
+        return new ScaleRules(settings, presetEpoch, rules.toArray(new Rule[0]), explicitRules, globalScale);
+    }
+
+    private static float scaleOf(PlayerPreset preset) {
+        return preset != null ? PlayerPresetManager.getEffectiveScale(preset) : Float.NaN;
+    }
+
+    public boolean isCurrent(ScaleSettings settings, long presetEpoch) {
+        return this.settings.epoch() == settings.epoch() && this.presetEpoch == presetEpoch;
+    }
+
+    /**
+     * Decides the target scale of another player, served from the cache when possible.
+     */
+    public float decide(UUID playerUUID) {
+        float scale = decisions.get(playerUUID, Float.NaN);
+        if (Float.isNaN(scale)) {
+            ScaleMetrics.DECISION_CACHE_MISSES.increment();
+            scale = redecide(playerUUID);
+        } else {
+            ScaleMetrics.DECISION_CACHE_HITS.increment();
+        }
+        return scale;
+    }
+
+    /**
+     * Decides the target scale of the local player. It keeps its own scale unless
+     * the other-player rules are configured to apply to everyone.
+     */
+    public float decideOwn(UUID playerUUID) {
+        if (!settings.applyToAllPlayers() || playerUUID == null) {
+            return settings.ownPlayerScale();
+        }
+        return decide(playerUUID);
+    }
+
+    /**
+     * Re-evaluates the rules for one player and replaces its cached decision,
+     * e.g. after its listed name or team changed.
+     */
+    public float redecide(UUID playerUUID) {
+        float scale = Float.NaN;
+        int rule = 0;
+        for (; rule < rules.length; rule++) {
+            scale = rules[rule].apply(playerUUID);
+            if (!Float.isNaN(scale)) break;
+        }
+        if (decisions.size() >= MAX_CACHED_DECISIONS) {
+            clearDecisions();
+        }
+        explicitDecisions.put(playerUUID, rule < explicitRules ? 1.0f : 0.0f);
+        if (Float.isNaN(scale)) {
+            ScaleMetrics.PRESET_MISSES.increment();
+            scale = globalScale;
+        } else {
+            ScaleMetrics.PRESET_HITS.increment();
+        }
+        decisions.put(playerUUID, scale);
+        return scale;
+    }
+
+    /**
+     * Whether the player's decision came from an explicit preset (UUID or username) rather
+     * than a pattern, team or the global scale. Decided along with the scale, once per epoch.
+     */
+    public boolean isExplicitDecision(UUID playerUUID) {
+        decide(playerUUID);
+        return explicitDecisions.get(playerUUID, 0.0f) != 0.0f;
+    }
+
+    public void clearDecisions() {
+        decisions.clear();
+        explicitDecisions.clear();
+    }
+
+    public int ruleCount() {
+        return rules.length + 1;
+    }
+}
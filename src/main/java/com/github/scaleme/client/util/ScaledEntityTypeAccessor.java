@@ -0,0 +1,8 @@
+package com.github.scaleme.client.util;
+
+public interface ScaledEntityTypeAccessor {
+    // Table the cached type scale was computed by; null until the first lookup
+    EntityScaleTable scaleme$getScaleTable();
+    float scaleme$getTypeScale();
+    void scaleme$setTypeScale(EntityScaleTable table, float scale);
+}
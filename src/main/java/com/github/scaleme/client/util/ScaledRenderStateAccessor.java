@@ -0,0 +1,7 @@
+package com.github.scaleme.client.util;
+
+public interface ScaledRenderStateAccessor {
+    void scaleme$setScale(float scale);
+    float scaleme$getScale();
+    boolean scaleme$shouldScale();
+}
@@ -0,0 +1,113 @@
+package com.github.scaleme.client.util;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scoreboard team membership, kept in sync incrementally from team packets.
+ * Teams list their members by name, so memberships are joined with {@link PlayerNameIndex}
+ * into a UUID -> team map; scale lookups never query the scoreboard.
+ * Team and member names are stored lower-cased.
+ */
+public class TeamIndex {
+    private static final Map<String, String> teamByMember = new ConcurrentHashMap<>();
+    private static final Map<String, Set<String>> membersByTeam = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> teamByUUID = new ConcurrentHashMap<>();
+
+    public static void onMembersAdded(String teamName, Collection<String> memberNames) {
+        String team = teamName.toLowerCase(Locale.ROOT);
+        Set<String> members = membersByTeam.computeIfAbsent(team, t -> ConcurrentHashMap.newKeySet());
+
+        for (String memberName : memberNames) {
+            String member = memberName.toLowerCase(Locale.ROOT);
+
+            // A score holder can only be on one team at a time
+            String previous = teamByMember.put(member, team);
+            if (previous != null && !previous.equals(team)) {
+                Set<String> previousMembers = membersByTeam.get(previous);
+                if (previousMembers != null) previousMembers.remove(member);
+            }
+            members.add(member);
+            updateListedPlayer(member, team);
+        }
+    }
+
+    public static void onMembersRemoved(String teamName, Collection<String> memberNames) {
+        String team = teamName.toLowerCase(Locale.ROOT);
+        Set<String> members = membersByTeam.get(team);
+
+        for (String memberName : memberNames) {
+            String member = memberName.toLowerCase(Locale.ROOT);
+            if (teamByMember.remove(member, team)) {
+                if (members != null) members.remove(member);
+                updateListedPlayer(member, null);
+            }
+        }
+    }
+
+    public static void onTeamRemoved(String teamName) {
+        String team = teamName.toLowerCase(Locale.ROOT);
+        Set<String> members = membersByTeam.remove(team);
+        if (members == null) return;
+
+        for (String member : members) {
+            if (teamByMember.remove(member, team)) {
+                updateListedPlayer(member, null);
+            }
+        }
+    }
+
+    /**
+     * Joins a newly listed (or renamed) player with any team that already lists its name.
+     */
+    public static void onPlayerListed(UUID uuid, String username) {
+        String team = username != null ? teamByMember.get(username) : null;
+        if (team != null) {
+            teamByUUID.put(uuid, team);
+        } else {
+            teamByUUID.remove(uuid);
+        }
+    }
+
+    public static void onPlayerUnlisted(UUID uuid) {
+        teamByUUID.remove(uuid);
+    }
+
+    private static void updateListedPlayer(String member, String team) {
+        UUID uuid = PlayerNameIndex.getUUID(member);
+        if (uuid == null) return;
+
+        if (team != null) {
+            teamByUUID.put(uuid, team);
+        } else {
+            teamByUUID.remove(uuid);
+        }
+        ScaleManager.refreshTarget(uuid);
+    }
+
+    /**
+     * Lower-cased member names of a team, empty when the team is unknown.
+     */
+    public static Set<String> getMembers(String team) {
+        Set<String> members = membersByTeam.get(team);
+        return members != null ? members : Set.of();
+    }
+
+    public static String getTeam(UUID uuid) {
+        return teamByUUID.get(uuid);
+    }
+
+    public static int size() {
+        return teamByMember.size();
+    }
+
+    public static void clear() {
+        teamByMember.clear();
+        membersByTeam.clear();
+        teamByUUID.clear();
+    }
+}
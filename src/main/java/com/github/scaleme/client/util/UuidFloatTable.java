@@ -0,0 +1,111 @@
+package com.github.scaleme.client.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressed UUID to float table used on the render hot path.
+ * UUIDs are stored as their two long halves so reads never box, allocate or call hashCode,
+ * and the whole table is cleared in O(1) by bumping a generation stamp.
+ * Not thread-safe: written and read on the render thread only.
+ */
+public final class UuidFloatTable {
+    private long[] mostBits;
+    private long[] leastBits;
+    private float[] values;
+    private int[] stamps;
+    private int mask;
+    private int size;
+    private int generation = 1;
+
+    public UuidFloatTable(int expectedSize) {
+        allocate(tableSizeFor(expectedSize * 2));
+    }
+
+    private void allocate(int capacity) {
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        values = new float[capacity];
+        stamps = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = 16;
+        while (capacity < n) capacity <<= 1;
+        return capacity;
+    }
+
+    static int slot(long most, long least, int mask) {
+        long h = (most ^ (least * 0x9E3779B97F4A7C15L)) * 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public void put(UUID uuid, float value) {
+        put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value);
+    }
+
+    public void put(long most, long least, float value) {
+        if ((size + 1) * 2 > mostBits.length) {
+            grow();
+        }
+        int i = slot(most, least, mask);
+        while (stamps[i] == generation) {
+            if (mostBits[i] == most && leastBits[i] == least) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        stamps[i] = generation;
+        mostBits[i] = most;
+        leastBits[i] = least;
+        values[i] = value;
+        size++;
+    }
+
+    public float get(UUID uuid, float defaultValue) {
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), defaultValue);
+    }
+
+    public float get(long most, long least, float defaultValue) {
+        int i = slot(most, least, mask);
+        while (stamps[i] == generation) {
+            if (mostBits[i] == most && leastBits[i] == least) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public void clear() {
+        size = 0;
+        if (++generation == 0) {
+            // Stamp counter wrapped; wipe so stale stamps can't alias the new generation
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        float[] oldValues = values;
+        int[] oldStamps = stamps;
+        int oldGeneration = generation;
+
+        allocate(oldMost.length << 1);
+        generation = 1;
+        size = 0;
+        for (int i = 0; i < oldMost.length; i++) {
+            if (oldStamps[i] == oldGeneration) {
+                put(oldMost[i], oldLeast[i], oldValues[i]);
+            }
+        }
+    }
+}
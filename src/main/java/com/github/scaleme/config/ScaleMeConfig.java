@@ -2,10 +2,15 @@ package com.github.scaleme.config;
 
 import eu.midnightdust.lib.config.MidnightConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ScaleMeConfig extends MidnightConfig {
     public static final String SCALING = "scaling";
     public static final String OTHER_PLAYERS = "other_players";
     public static final String PLAYER_PRESETS = "player_presets";
+    public static final String ENTITIES = "entities";
+    public static final String PERFORMANCE = "performance";
     public static final String HYPIXEL_SAFETY = "hypixel_safety";
     public static final String CROSSHAIR = "crosshair";
     public static final String CAMERA = "camera";
@@ -19,6 +24,9 @@ public class ScaleMeConfig extends MidnightConfig {
     @Entry(category = SCALING, name = "Smooth Scaling for Own Player")
     public static boolean ownPlayerSmoothScaling = true;
 
+    @Entry(category = SCALING, name = "Smoothing Half-Life (ms)", isSlider = true, min = 10, max = 1000)
+    public static int smoothingHalfLife = 100;
+
     @Comment(category = OTHER_PLAYERS, name = "Change the visual size of other players' models")
     public static Comment otherPlayersDescription;
 
@@ -48,6 +56,36 @@ public class ScaleMeConfig extends MidnightConfig {
     public static boolean autoDetectUUIDs = true;
     */
 
+    @Comment(category = ENTITIES, name = "Scale mobs, armor stands and NPCs by type or custom name")
+    public static Comment entitiesDescription;
+
+    @Entry(category = ENTITIES, name = "Enable Entity Scaling")
+    public static boolean enableEntityScaling = false;
+
+    @Entry(category = ENTITIES, name = "Entity Type Scales (type=scale)")
+    public static List<String> entityTypeScales = new ArrayList<>();
+
+    @Entry(category = ENTITIES, name = "Entity Name Scales (name=scale)")
+    public static List<String> entityNameScales = new ArrayList<>();
+
+    @Comment(category = PERFORMANCE, name = "Reduce scaling work in large crowds when it exceeds a per-frame budget")
+    public static Comment performanceDescription;
+
+    @Entry(category = PERFORMANCE, name = "Enable Adaptive Frame Budget")
+    public static boolean enableFrameBudget = true;
+
+    @Entry(category = PERFORMANCE, name = "Frame Budget (microseconds)", isSlider = true, min = 50, max = 2000)
+    public static int frameBudgetMicros = 500;
+
+    @Entry(category = PERFORMANCE, name = "Smoothing Distance Under Budget (blocks)", isSlider = true, min = 8, max = 128)
+    public static int budgetSmoothingDistance = 32;
+
+    @Entry(category = PERFORMANCE, name = "Emit JFR Events")
+    public static boolean enableJfrEvents = false;
+
+    @Entry(category = PERFORMANCE, name = "Binary Preset Snapshot")
+    public static boolean binaryPresetSnapshot = true;
+
     @Comment(category = HYPIXEL_SAFETY, name = "Automatically disable scaling in competitive Hypixel games to prevent unfair advantages")
     public static Comment hypixelSafetyDescription;
 
@@ -0,0 +1,81 @@
+package com.github.scaleme.config;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the scaling settings in {@link ScaleMeConfig}.
+ * Rebuilt only when the config is saved (or changed by a command) and published through
+ * a volatile reference, so every thread sees a consistent set of values. The epoch grows
+ * with every rebuild, letting caches detect staleness with a single comparison.
+ */
+public record ScaleSettings(
+        long epoch,
+        float ownPlayerScale,
+        boolean ownPlayerSmoothScaling,
+        boolean enableOtherPlayersScaling,
+        float otherPlayersScale,
+        boolean otherPlayersSmoothScaling,
+        boolean applyToAllPlayers,
+        boolean enablePlayerPresets,
+        boolean enableHypixelSafety,
+        boolean allowSkyblockScaling,
+        float smoothingFactor,
+        boolean enableEntityScaling,
+        List<String> entityTypeScales,
+        List<String> entityNameScales,
+        boolean enableFrameBudget,
+        long frameBudgetNanos,
+        double budgetSmoothingDistanceSq,
+        boolean enableJfrEvents,
+        boolean binaryPresetSnapshot
+) {
+    // Smoothing advances once per client tick, so its speed never depends on frame rate
+    private static final float TICK_MILLIS = 50.0f;
+
+    private static volatile ScaleSettings current = capture(0);
+
+    public static ScaleSettings get() {
+        return current;
+    }
+
+    /**
+     * Publishes a fresh snapshot of the config statics. Called after MidnightConfig writes.
+     */
+    public static synchronized ScaleSettings rebuild() {
+        ScaleSettings snapshot = capture(current.epoch + 1);
+        current = snapshot;
+        return snapshot;
+    }
+
+    private static ScaleSettings capture(long epoch) {
+        return new ScaleSettings(
+                epoch,
+                ScaleMeConfig.ownPlayerScale,
+                ScaleMeConfig.ownPlayerSmoothScaling,
+                ScaleMeConfig.enableOtherPlayersScaling,
+                ScaleMeConfig.otherPlayersScale,
+                ScaleMeConfig.otherPlayersSmoothScaling,
+                ScaleMeConfig.applyToAllPlayers,
+                ScaleMeConfig.enablePlayerPresets,
+                ScaleMeConfig.enableHypixelSafety,
+                ScaleMeConfig.allowSkyblockScaling,
+                smoothingFactor(ScaleMeConfig.smoothingHalfLife),
+                ScaleMeConfig.enableEntityScaling,
+                List.copyOf(ScaleMeConfig.entityTypeScales),
+                List.copyOf(ScaleMeConfig.entityNameScales),
+                ScaleMeConfig.enableFrameBudget,
+                ScaleMeConfig.frameBudgetMicros * 1000L,
+                (double) ScaleMeConfig.budgetSmoothingDistance * ScaleMeConfig.budgetSmoothingDistance,
+                ScaleMeConfig.enableJfrEvents,
+                ScaleMeConfig.binaryPresetSnapshot
+        );
+    }
+
+    /**
+     * Fraction of the remaining distance covered per tick so that half of it
+     * is closed every configured half-life, regardless of frame rate.
+     */
+    private static float smoothingFactor(int halfLifeMillis) {
+        return 1.0f - (float) Math.pow(0.5, TICK_MILLIS / Math.max(1, halfLifeMillis));
+    }
+}
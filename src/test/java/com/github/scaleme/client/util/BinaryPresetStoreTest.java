@@ -0,0 +1,63 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BinaryPresetStoreTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsSnapshotOfUnchangedJson() throws IOException {
+        Path json = Files.writeString(dir.resolve("scaleme_presets.json"), "[]");
+        Path snapshot = dir.resolve("scaleme_presets.bin");
+        BinaryPresetStore.write(snapshot, BinaryPresetStore.Source.of(json), List.of(
+                new PlayerPreset("Notch", "Notch", 1.5f, "Friends"),
+                new PlayerPreset("069a79f4-44e9-4726-a5be-fca90e38aaf5", null, 0.5f, false, "Default")
+        ));
+
+        List<PlayerPreset> presets = BinaryPresetStore.read(snapshot, json);
+        assertNotNull(presets);
+        assertEquals(2, presets.size());
+        assertEquals("Notch", presets.get(0).identifier);
+        assertEquals(1.5f, presets.get(0).scale);
+        assertEquals("069a79f4-44e9-4726-a5be-fca90e38aaf5", presets.get(1).identifier);
+        assertEquals(false, presets.get(1).enabled);
+    }
+
+    @Test
+    void ignoresSnapshotWhenJsonChangedWithOlderTimestamp() throws IOException {
+        Path json = Files.writeString(dir.resolve("scaleme_presets.json"), "[]");
+        Path snapshot = dir.resolve("scaleme_presets.bin");
+        BinaryPresetStore.write(snapshot, BinaryPresetStore.Source.of(json), List.of());
+        FileTime written = Files.getLastModifiedTime(json);
+
+        // e.g. restored from a backup or synced from another machine
+        Files.writeString(json, "[ ]");
+        Files.setLastModifiedTime(json, FileTime.fromMillis(written.toMillis() - 60_000));
+
+        assertNull(BinaryPresetStore.read(snapshot, json));
+    }
+
+    @Test
+    void ignoresSnapshotWhenJsonTouchedWithSameSize() throws IOException {
+        Path json = Files.writeString(dir.resolve("scaleme_presets.json"), "[]");
+        Path snapshot = dir.resolve("scaleme_presets.bin");
+        BinaryPresetStore.write(snapshot, BinaryPresetStore.Source.of(json), List.of());
+
+        Files.setLastModifiedTime(json, FileTime.fromMillis(Files.getLastModifiedTime(json).toMillis() + 5_000));
+
+        assertNull(BinaryPresetStore.read(snapshot, json));
+    }
+}
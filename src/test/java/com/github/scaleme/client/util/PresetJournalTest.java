@@ -0,0 +1,101 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PresetJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void flushWritesQueuedAppends() throws IOException {
+        Path path = dir.resolve("scaleme_presets.journal");
+        PresetJournal journal = new PresetJournal(path, () -> {});
+
+        journal.append(PresetJournal.Entry.put(new PlayerPreset("Notch", "Notch", 1.5f, "Friends")));
+        journal.append(PresetJournal.Entry.remove("jeb_"));
+        journal.flush();
+
+        // Read straight from disk, as the next start would after the client stopped
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals(Files.size(path), journal.size());
+
+        List<PresetJournal.Entry> entries = new PresetJournal(path, () -> {}).read();
+        assertEquals(2, entries.size());
+        assertEquals("Notch", entries.get(0).identifier());
+        assertEquals(1.5f, entries.get(0).preset().scale);
+        assertEquals("Friends", entries.get(0).preset().category);
+        assertEquals("jeb_", entries.get(1).identifier());
+        assertNull(entries.get(1).preset());
+    }
+
+    @Test
+    void flushWithoutAppendsCreatesNothing() {
+        Path path = dir.resolve("scaleme_presets.journal");
+        PresetJournal journal = new PresetJournal(path, () -> {});
+
+        journal.flush();
+
+        assertFalse(Files.exists(path));
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void appendAfterSnapshotSurvivesWriteCallback() {
+        Path path = dir.resolve("scaleme_presets.journal");
+        PresetJournal journal = new PresetJournal(path, () -> {});
+
+        journal.append(PresetJournal.Entry.put(new PlayerPreset("Notch", "Notch", 1.5f, "Friends")));
+        journal.flush();
+        // The full write snapshots here, then an edit lands before its callback runs
+        long mark = journal.mark();
+        journal.append(PresetJournal.Entry.remove("jeb_"));
+        journal.flush();
+
+        journal.dropThrough(mark);
+
+        List<PresetJournal.Entry> entries = new PresetJournal(path, () -> {}).read();
+        assertEquals(1, entries.size());
+        assertEquals("jeb_", entries.get(0).identifier());
+        assertNull(entries.get(0).preset());
+    }
+
+    @Test
+    void dropThroughCountsLinesFromEarlierRuns() throws IOException {
+        Path path = dir.resolve("scaleme_presets.journal");
+        PresetJournal previous = new PresetJournal(path, () -> {});
+        previous.append(PresetJournal.Entry.remove("Notch"), PresetJournal.Entry.remove("jeb_"));
+        previous.flush();
+
+        PresetJournal journal = new PresetJournal(path, () -> {});
+        assertEquals(Files.size(path), journal.size());
+        long mark = journal.mark();
+        journal.append(PresetJournal.Entry.remove("Dinnerbone"));
+        journal.flush();
+
+        journal.dropThrough(mark);
+        List<PresetJournal.Entry> entries = new PresetJournal(path, () -> {}).read();
+        assertEquals(1, entries.size());
+        assertEquals("Dinnerbone", entries.get(0).identifier());
+        assertEquals(Files.size(path), journal.size());
+
+        // Once a later write covers the rest too, nothing is left
+        journal.dropThrough(journal.mark());
+        assertFalse(Files.exists(path));
+        assertEquals(0, journal.size());
+        assertTrue(new PresetJournal(path, () -> {}).read().isEmpty());
+    }
+}
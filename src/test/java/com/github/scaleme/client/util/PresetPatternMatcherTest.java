@@ -0,0 +1,39 @@
+package com.github.scaleme.client.util;
+
+import com.github.scaleme.client.data.PlayerPreset;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PresetPatternMatcherTest {
+    @Test
+    void bracketedGlobMatchesTabListDisplayName() {
+        PlayerPreset npc = new PlayerPreset("[NPC]*", null, 0.5f, "Default");
+        PresetPatternMatcher matcher = new PresetPatternMatcher(List.of(npc));
+
+        // As a server sends it: formatting codes around the tag
+        String displayName = PlayerNameIndex.normalizeDisplayName("§8[NPC] §eVillage Guard");
+        assertEquals("[npc] village guard", displayName);
+        assertEquals(npc, matcher.match(displayName));
+        assertNull(matcher.match("npc_village_guard"));
+    }
+
+    @Test
+    void bracketedGlobWithInnerWildcardIsQuoted() {
+        PlayerPreset guard = new PlayerPreset("[NPC]*guard", null, 0.5f, "Default");
+        PresetPatternMatcher matcher = new PresetPatternMatcher(List.of(guard));
+
+        assertEquals(guard, matcher.match(PlayerNameIndex.normalizeDisplayName("[NPC] Village Guard")));
+        // Brackets are literal, not a character class
+        assertNull(matcher.match("n guard"));
+    }
+
+    @Test
+    void emptyDisplayNameNormalizesToNull() {
+        assertNull(PlayerNameIndex.normalizeDisplayName(null));
+        assertNull(PlayerNameIndex.normalizeDisplayName("§r  "));
+    }
+}
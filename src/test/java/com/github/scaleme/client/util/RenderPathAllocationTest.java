@@ -0,0 +1,97 @@
+package com.github.scaleme.client.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the per-frame scale structures against allocations (boxing, capturing lambdas,
+ * resizing) by comparing the thread's allocated bytes around warmed-up loops.
+ */
+class RenderPathAllocationTest {
+    private static final int PLAYERS = 1000;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static UUID[] uuids;
+    // Written so the JIT cannot drop the work being measured
+    private static float sink;
+
+    @BeforeAll
+    static void setUp() {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation accounting is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        uuids = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            uuids[i] = new UUID(0x5CA1E00000000000L + i, 0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    @Test
+    void uuidFloatTableGetAndPutDoNotAllocate() {
+        UuidFloatTable table = new UuidFloatTable(PLAYERS);
+        for (UUID uuid : uuids) {
+            table.put(uuid, 1.0f);
+        }
+
+        Runnable path = () -> {
+            for (int i = 0; i < uuids.length; i++) {
+                UUID uuid = uuids[i];
+                table.put(uuid, table.get(uuid, 1.0f) + 0.001f);
+                sink += table.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0.0f);
+            }
+        };
+
+        assertEquals(0, allocatedAfterWarmup(path), "UuidFloatTable.get/put allocated");
+    }
+
+    @Test
+    void playerScaleStoreAdvanceDoesNotAllocate() {
+        PlayerScaleStore store = new PlayerScaleStore(PLAYERS, PLAYERS);
+        for (UUID uuid : uuids) {
+            store.track(uuid, 1.0f, false);
+        }
+
+        // Alternate targets so every slot keeps animating and advance has work each frame
+        float[] target = {0.5f};
+        Runnable path = () -> {
+            target[0] = target[0] == 0.5f ? 1.5f : 0.5f;
+            for (int slot = 0; slot < store.size(); slot++) {
+                store.setTarget(slot, target[0], false);
+            }
+            store.advance(0.3f);
+            for (int slot = 0; slot < store.size(); slot++) {
+                sink += store.interpolate(slot, 0.5f);
+            }
+        };
+
+        assertEquals(0, allocatedAfterWarmup(path), "PlayerScaleStore.advance allocated");
+    }
+
+    private static long allocatedAfterWarmup(Runnable path) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            path.run();
+        }
+
+        // The accounting call itself may allocate; measure it with an empty body first
+        long overhead = measure(() -> { });
+        return Math.max(0, measure(path) - overhead);
+    }
+
+    private static long measure(Runnable path) {
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            path.run();
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}